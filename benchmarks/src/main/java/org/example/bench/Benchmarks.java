@@ -0,0 +1,34 @@
+package org.example.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * The Benchmarks class is the entry point of benchmarks.jar. It runs the JMH benchmarks
+ * with the GC profiler always attached, so each result shows its allocation
+ * (gc.alloc.rate.norm, in bytes per operation) next to its time. Any other JMH
+ * command-line options are passed through, such as a regex of benchmarks to run or
+ * -p to fix a parameter.
+ *
+ * Usage: java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+ * e.g.   java -jar benchmarks/target/benchmarks.jar BroadcastBenchmark -p players=10000
+ */
+public class Benchmarks {
+    /**
+     * Runs the selected benchmarks with allocation profiling.
+     *
+     * @param args JMH command-line options
+     * @throws CommandLineOptionException if the options cannot be parsed
+     * @throws RunnerException            if a benchmark fails
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
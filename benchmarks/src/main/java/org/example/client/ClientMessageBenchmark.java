@@ -0,0 +1,97 @@
+package org.example.client;
+
+import org.example.server.PlayerScore;
+import org.example.server.Question;
+import org.example.server.ServerMessage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ClientMessageBenchmark class measures {@link GameClient#handleServerMessage} on each
+ * kind of text-protocol message the server sends, from the prefix match through parsing to
+ * the UI update it produces. The client is detached: it has no socket, and its UI updates
+ * are handed back to the benchmark instead of running on the JavaFX thread, so the
+ * numbers cover the listener thread's work only. Score messages carry eight players.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class ClientMessageBenchmark {
+    private static final int PLAYERS = 8;
+
+    /**
+     * The messages measured, one per server message type.
+     */
+    public enum Kind {
+        ROOM_CODE,
+        JOIN_SUCCESS,
+        PLAYER_LIST,
+        GAME_STARTED,
+        QUESTION,
+        ANSWER_RESULT,
+        SCORES,
+        SCORE_DELTA,
+        FINAL_SCORES,
+        TIME_UP,
+        PONG
+    }
+
+    @Param
+    public Kind kind;
+
+    private GameClient client;
+    private String message;
+    // Last UI update the client produced; keeping it stops the JIT from dropping the work
+    private Runnable uiUpdate;
+
+    /**
+     * Builds the message and a client that already knows the players' ids.
+     */
+    @Setup
+    public void setUp() {
+        client = new GameClient(update -> uiUpdate = update);
+        List<PlayerScore> scores = new ArrayList<>(PLAYERS);
+        List<String> names = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            scores.add(new PlayerScore(i, "player" + i, i * 3));
+            names.add("player" + i);
+        }
+        // Score deltas name players by id, which the client learns from a snapshot
+        client.handleServerMessage(ServerMessage.scores(scores).text());
+
+        Question question = new Question("Which gas makes up most of Earth's atmosphere?",
+                "Oxygen", "Hydrogen", "Nitrogen", "Carbon Dioxide", "C");
+        long now = System.currentTimeMillis();
+        ServerMessage sample = switch (kind) {
+            case ROOM_CODE -> ServerMessage.roomCode("K7QZ");
+            case JOIN_SUCCESS -> ServerMessage.joinSuccess("K7QZ");
+            case PLAYER_LIST -> ServerMessage.playerList(names);
+            case GAME_STARTED -> ServerMessage.gameStarted();
+            case QUESTION -> ServerMessage.question(3, 15, question, 10, now + 10_000);
+            case ANSWER_RESULT -> ServerMessage.answerResult(true, 4, "Nitrogen");
+            case SCORES -> ServerMessage.scores(scores);
+            case SCORE_DELTA -> ServerMessage.scoreDelta(scores.subList(2, 4));
+            case FINAL_SCORES -> ServerMessage.finalScores(scores);
+            case TIME_UP -> ServerMessage.timeUp();
+            case PONG -> ServerMessage.pong(now, now + 5);
+        };
+        message = sample.text();
+    }
+
+    /**
+     * Handles one message.
+     *
+     * @return the UI update it produced, if any
+     */
+    @Benchmark
+    public Runnable handleServerMessage() {
+        client.handleServerMessage(message);
+        return uiUpdate;
+    }
+}
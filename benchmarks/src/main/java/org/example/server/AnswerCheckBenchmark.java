@@ -0,0 +1,54 @@
+package org.example.server;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The AnswerCheckBenchmark class measures {@link Question#isCorrectAnswer}: by option index,
+ * as the server checks every answer, and by text, for answers given as a letter or as the
+ * option itself in any case.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Thread)
+public class AnswerCheckBenchmark {
+    private final Question question = new Question("Which gas makes up most of Earth's atmosphere?",
+            "Oxygen", "Hydrogen", "Nitrogen", "Carbon Dioxide", "C");
+    // Cycles through the options so the check cannot be folded into a constant
+    private int choice;
+
+    /**
+     * The text answers measured: right and wrong, as letters and as option text.
+     */
+    @State(Scope.Thread)
+    public static class TextAnswer {
+        @Param({"C", "c", "B", "Nitrogen", "nitrogen", "Carbon Dioxide"})
+        public String answer;
+    }
+
+    /**
+     * Checks an answer given as an option index.
+     *
+     * @return whether it was correct
+     */
+    @Benchmark
+    public boolean byIndex() {
+        choice = (choice + 1) & 3;
+        return question.isCorrectAnswer(choice);
+    }
+
+    /**
+     * Checks an answer given as text.
+     *
+     * @param text the answer
+     * @return whether it was correct
+     */
+    @Benchmark
+    public boolean byText(TextAnswer text) {
+        return question.isCorrectAnswer(text.answer);
+    }
+}
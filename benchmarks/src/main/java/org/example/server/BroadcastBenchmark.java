@@ -0,0 +1,93 @@
+package org.example.server;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BroadcastBenchmark class measures a room's fan-out, {@link GameRoom#announce(String)}
+ * and {@link GameRoom#sendScoresUpdate()}, for rooms of 2 to 10,000 players. Each message is
+ * encoded once and a view of it is queued for every player; the queues are then emptied
+ * the way a connection's writer takes them, so each operation also pays the dequeue and
+ * nothing builds up across operations. No bytes reach a socket.
+ *
+ * The room runs its commands inline on the benchmark thread, which makes that thread the
+ * room's mailbox for the whole trial.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// A score snapshot of 10,000 players is larger than the default high-water mark
+@Fork(value = 2, jvmArgsAppend = "-Dtrivia.outbound.highWater=4194304")
+@State(Scope.Thread)
+public class BroadcastBenchmark {
+    @Param({"2", "10", "100", "1000", "10000"})
+    public int players;
+
+    private HashedWheelTimer timer;
+    private GameRoom room;
+    private ClientHandler[] handlers;
+    private final ByteBuffer[] batch = new ByteBuffer[ClientHandler.WRITE_BATCH_SIZE];
+
+    /**
+     * Fills a room with players whose handlers only queue what they are sent.
+     */
+    @Setup
+    public void setUp() {
+        timer = new HashedWheelTimer("bench-timer", 10, TimeUnit.MILLISECONDS, 512, Runnable::run);
+        room = new GameRoom("BNCH", timer, Runnable::run, new BotEngine(0, BotProfile.NORMAL),
+                QuestionBank::getInstance);
+        handlers = new ClientHandler[players];
+        for (int i = 0; i < players; i++) {
+            handlers[i] = new ClientHandler((Socket) null, null);
+            room.addPlayer("player" + i, handlers[i]);
+            // Every join is broadcast; empty the queues before they pass the high-water mark
+            drain(i + 1);
+        }
+    }
+
+    /**
+     * Stops the timer.
+     */
+    @TearDown
+    public void tearDown() {
+        timer.stop();
+    }
+
+    /**
+     * Broadcasts a chat-style line to the room.
+     *
+     * @return the number of messages dequeued
+     */
+    @Benchmark
+    public int announce() {
+        room.announce("player0 has answered.");
+        return drain(players);
+    }
+
+    /**
+     * Broadcasts a full score snapshot to the room.
+     *
+     * @return the number of messages dequeued
+     */
+    @Benchmark
+    public int sendScoresUpdate() {
+        room.sendScoresUpdate();
+        return drain(players);
+    }
+
+    // Empties the first count players' queues as their writers would
+    private int drain(int count) {
+        int drained = 0;
+        for (int i = 0; i < count; i++) {
+            int n;
+            while ((n = handlers[i].outbound().drainTo(batch)) > 0) {
+                drained += n;
+            }
+        }
+        return drained;
+    }
+}
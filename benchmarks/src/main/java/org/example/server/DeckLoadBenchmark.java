@@ -0,0 +1,93 @@
+package org.example.server;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The DeckLoadBenchmark class measures loading large synthetic decks: parsing a CSV into a
+ * {@link QuestionBank} with {@link QuestionBank#read}, and opening the same deck compiled
+ * to a question pack with {@link QuestionBank#open}. The decks are written to a temporary
+ * directory once per trial, spread over a dozen categories and all three difficulties.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeckLoadBenchmark {
+    private static final int CATEGORIES = 12;
+    private static final String[] DIFFICULTIES = {"easy", "medium", "hard"};
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private Path directory;
+    private Path csv;
+    private Path pack;
+
+    /**
+     * Writes the CSV deck and compiles it to a pack.
+     *
+     * @throws IOException if the files cannot be written
+     */
+    @Setup
+    public void writeDeck() throws IOException {
+        directory = Files.createTempDirectory("deck-benchmark");
+        csv = directory.resolve("deck.csv");
+        pack = directory.resolve("deck" + QuestionBank.PACK_SUFFIX);
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            out.write("Question,Option 1,Option 2,Option 3,Option 4,Correct Answer,Category,Difficulty");
+            out.newLine();
+            for (int i = 0; i < rows; i++) {
+                String[] options = {"Answer " + i + " one", "Answer " + i + " two",
+                        "Answer " + i + " three", "Answer " + i + " four"};
+                out.write("What is synthetic question number " + i + "?," + String.join(",", options)
+                        + "," + options[i % 4] + ",Category " + (i % CATEGORIES)
+                        + "," + DIFFICULTIES[i % DIFFICULTIES.length]);
+                out.newLine();
+            }
+        }
+        QuestionPackCompiler.compile(csv, pack);
+    }
+
+    /**
+     * Deletes the deck files.
+     *
+     * @throws IOException if they cannot be deleted
+     */
+    @TearDown
+    public void deleteDeck() throws IOException {
+        Files.deleteIfExists(csv);
+        Files.deleteIfExists(pack);
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Parses the CSV deck.
+     *
+     * @return the loaded bank
+     * @throws IOException if the deck cannot be read
+     */
+    @Benchmark
+    public QuestionBank readCsv() throws IOException {
+        return QuestionBank.read(csv);
+    }
+
+    /**
+     * Opens the compiled pack.
+     *
+     * @return the loaded bank
+     * @throws IOException if the pack cannot be opened
+     */
+    @Benchmark
+    public QuestionBank openPack() throws IOException {
+        return QuestionBank.open(pack);
+    }
+}
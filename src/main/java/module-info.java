@@ -5,7 +5,10 @@ module org.example.client {
     requires javafx.graphics; // JavaFX Graphics module
     requires com.opencsv;
     requires java.desktop;
+    requires java.management;
+    requires jdk.httpserver;
     exports org.example.client;
+    exports org.example.metrics;
     opens org.example.client to javafx.fxml;
 
 }
\ No newline at end of file
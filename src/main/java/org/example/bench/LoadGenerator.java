@@ -0,0 +1,243 @@
+package org.example.bench;
+
+import org.example.metrics.LatencyHistogram;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The LoadGenerator class is a headless client that plays the game as thousands of
+ * simulated players against a running server, speaking the same text protocol as
+ * {@link org.example.server.ClientHandler}. Each player is a blocking socket on its
+ * own virtual thread, so one process can hold many thousands of connections.
+ *
+ * Players are grouped into rooms: the first creates the room and picks the number of
+ * questions, the rest join with its code, and the host starts the game. Every player then
+ * answers each question after a scripted delay, picking the right option with the given
+ * accuracy, until the final scores arrive. Latencies are recorded in {@link LatencyHistogram}s:
+ * - handshake: connect until the server greets the player by name
+ * - join: sending a room code until JOIN_SUCCESS
+ * - question delivery: the server opening a question (its deadline minus the time limit)
+ *   until the QUESTION line arrives; this uses wall clocks, so run on the server's host
+ *   or one with a synchronised clock
+ * - answer result: sending an answer until its ANSWER_RESULT
+ *
+ * Usage: LoadGenerator [players] [roomSize] [questions] [answerDelayMillis min-max] [host:port]
+ * e.g.   LoadGenerator 5000 8 5 500-3000 localhost:50000
+ */
+public class LoadGenerator {
+    private static final int SOCKET_TIMEOUT_MILLIS = 60_000;
+    // Connections opened at once; keeps the ramp inside the server's accept backlog
+    private static final int MAX_CONCURRENT_CONNECTS = 256;
+    private static final double ANSWER_ACCURACY = 0.7;
+
+    private final String host;
+    private final int port;
+    private final int questions;
+    private final long minDelayMillis;
+    private final long maxDelayMillis;
+    private final LatencyHistogram handshake = new LatencyHistogram();
+    private final LatencyHistogram join = new LatencyHistogram();
+    private final LatencyHistogram questionDelivery = new LatencyHistogram();
+    private final LatencyHistogram answerResult = new LatencyHistogram();
+    private final AtomicInteger connectFailures = new AtomicInteger();
+    private final AtomicInteger roomFailures = new AtomicInteger();
+    private final AtomicInteger gamesFinished = new AtomicInteger();
+    private final Semaphore connectPermits = new Semaphore(MAX_CONCURRENT_CONNECTS);
+
+    private LoadGenerator(String host, int port, int questions, long minDelayMillis, long maxDelayMillis) {
+        this.host = host;
+        this.port = port;
+        this.questions = questions;
+        this.minDelayMillis = minDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    /**
+     * Runs the load and prints the latency percentiles.
+     *
+     * @param args players, room size, questions per game, answer delay range and server address (all optional)
+     * @throws InterruptedException if interrupted while the rooms play
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int roomSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int questions = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        String[] delay = (args.length > 3 ? args[3] : "500-3000").split("-");
+        String[] address = (args.length > 4 ? args[4] : "localhost:" + org.example.server.GameServer.port).split(":");
+
+        LoadGenerator generator = new LoadGenerator(address[0], Integer.parseInt(address[1]), questions,
+                Long.parseLong(delay[0]), Long.parseLong(delay[delay.length - 1]));
+        generator.run(players, Math.max(1, roomSize));
+    }
+
+    // Plays every room to the end and prints the report
+    private void run(int players, int roomSize) throws InterruptedException {
+        int rooms = (players + roomSize - 1) / roomSize;
+        System.out.printf("Playing %d rooms of up to %d players against %s:%d...%n", rooms, roomSize, host, port);
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int room = 0; room < rooms; room++) {
+                int size = Math.min(roomSize, players - room * roomSize);
+                int first = room * roomSize;
+                executor.submit(() -> playRoom(first, size));
+            }
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        System.out.println();
+        System.out.printf("%d of %d games finished in %.1f s; %d connections and %d rooms failed%n",
+                gamesFinished.get(), rooms, elapsedMillis / 1000.0, connectFailures.get(), roomFailures.get());
+        System.out.println("handshake         " + handshake.summary());
+        System.out.println("join              " + join.summary());
+        System.out.println("question delivery " + questionDelivery.summary());
+        System.out.println("answer result     " + answerResult.summary());
+    }
+
+    // Connects one room's players, sets up the game and plays it on a thread per player
+    private void playRoom(int firstPlayer, int size) {
+        List<SimPlayer> room = new ArrayList<>(size);
+        try {
+            for (int i = 0; i < size; i++) {
+                room.add(connect("load" + (firstPlayer + i)));
+            }
+            SimPlayer hostPlayer = room.get(0);
+            hostPlayer.send("create");
+            String code = hostPlayer.awaitPrefix("ROOM_CODE:").substring("ROOM_CODE:".length());
+            hostPlayer.send("deck " + questions);
+            for (SimPlayer player : room.subList(1, room.size())) {
+                player.send("join");
+                player.awaitPrefix("Enter game code:");
+                long sent = System.nanoTime();
+                player.send(code);
+                player.awaitPrefix("JOIN_SUCCESS:");
+                join.record(System.nanoTime() - sent);
+            }
+            hostPlayer.send("start");
+
+            List<Future<?>> playing = new ArrayList<>(size);
+            try (ExecutorService players = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (SimPlayer player : room) {
+                    playing.add(players.submit(() -> {
+                        play(player);
+                        return null;
+                    }));
+                }
+            }
+            for (Future<?> player : playing) {
+                player.get();
+            }
+            gamesFinished.incrementAndGet();
+        } catch (IOException | ExecutionException | RuntimeException e) {
+            roomFailures.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            for (SimPlayer player : room) {
+                player.close();
+            }
+        }
+    }
+
+    // Opens a connection and completes the name handshake
+    private SimPlayer connect(String name) throws IOException, InterruptedException {
+        connectPermits.acquire();
+        try {
+            long start = System.nanoTime();
+            SimPlayer player = SimPlayer.connect(host, port, name);
+            handshake.record(System.nanoTime() - start);
+            return player;
+        } catch (IOException e) {
+            connectFailures.incrementAndGet();
+            throw e;
+        } finally {
+            connectPermits.release();
+        }
+    }
+
+    // Answers every question after a scripted delay until the game ends
+    private void play(SimPlayer player) throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (true) {
+            String line = player.awaitPrefix("QUESTION:", "FINAL_SCORES:");
+            if (line.startsWith("FINAL_SCORES:")) return;
+            long received = System.currentTimeMillis();
+
+            // QUESTION:n/total:text|A|B|C|D|correct|limit|deadline
+            String[] parts = line.substring(line.indexOf(':', "QUESTION:".length()) + 1).split("\\|");
+            int limitSeconds = Integer.parseInt(parts[6]);
+            long deadline = Long.parseLong(parts[7]);
+            questionDelivery.record(TimeUnit.MILLISECONDS.toNanos(received - (deadline - limitSeconds * 1000L)));
+
+            int correct = Arrays.asList(parts).subList(1, 5).indexOf(parts[5]);
+            int choice = correct >= 0 && random.nextDouble() < ANSWER_ACCURACY ? correct : random.nextInt(4);
+            Thread.sleep(minDelayMillis + random.nextLong(maxDelayMillis - minDelayMillis + 1));
+
+            long sent = System.nanoTime();
+            player.send(String.valueOf("ABCD".charAt(choice)));
+            String reply = player.awaitPrefix("ANSWER_RESULT:", "TIME_UP", "FINAL_SCORES:");
+            if (reply.startsWith("ANSWER_RESULT:")) {
+                answerResult.record(System.nanoTime() - sent);
+            } else if (reply.startsWith("FINAL_SCORES:")) {
+                // The question closed before the answer arrived and it was the last one
+                return;
+            }
+        }
+    }
+
+    /**
+     * A simulated player speaking the server's text protocol over a blocking socket.
+     */
+    private static final class SimPlayer implements Closeable {
+        private final Socket socket;
+        private final BufferedReader input;
+        private final PrintWriter output;
+
+        private SimPlayer(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            this.output = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        }
+
+        // Connects and completes the name handshake
+        static SimPlayer connect(String host, int port, String name) throws IOException {
+            Socket socket = new Socket(host, port);
+            socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+            SimPlayer player = new SimPlayer(socket);
+            player.awaitPrefix("Enter your name:");
+            player.send(name);
+            player.awaitPrefix("Hello ");
+            return player;
+        }
+
+        void send(String line) {
+            output.println(line);
+        }
+
+        // Skips lines until one starts with any of the prefixes
+        String awaitPrefix(String... prefixes) throws IOException {
+            String line;
+            while ((line = input.readLine()) != null) {
+                for (String prefix : prefixes) {
+                    if (line.startsWith(prefix)) {
+                        return line;
+                    }
+                }
+            }
+            throw new EOFException("Connection closed while waiting for " + String.join(" or ", prefixes));
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+}
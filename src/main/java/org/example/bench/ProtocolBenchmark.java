@@ -0,0 +1,180 @@
+package org.example.bench;
+
+import org.example.protocol.ClientFrames;
+import org.example.protocol.MessageType;
+import org.example.protocol.ServerFrames;
+import org.example.server.PlayerScore;
+import org.example.server.Question;
+import org.example.server.ServerMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The ProtocolBenchmark class compares the text and binary wire protocols on the messages
+ * that dominate a game: encoding a question, a score table and a score delta on the server, decoding them
+ * on the client, and decoding a player's answer on the server. For each it prints the
+ * encoded size and the median time per operation over several measured rounds.
+ *
+ * Usage: ProtocolBenchmark [iterations]
+ */
+public class ProtocolBenchmark {
+    private static final int ROUNDS = 5;
+
+    // Keeps the JIT from discarding results
+    private static long sink;
+
+    /**
+     * Runs every case in both protocols and prints a comparison table.
+     *
+     * @param args number of iterations per measured round (optional)
+     */
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+
+        Question question = new Question("Which gas makes up most of Earth's atmosphere?",
+                "Oxygen", "Hydrogen", "Nitrogen", "Carbon Dioxide", "C");
+        int players = 8;
+        List<PlayerScore> scores = new ArrayList<>();
+        int[] ids = new int[players];
+        String[] names = new String[players];
+        int[] values = new int[players];
+        for (int i = 0; i < players; i++) {
+            scores.add(new PlayerScore(i, "player" + i, i * 3));
+            ids[i] = i;
+            names[i] = "player" + i;
+            values[i] = i * 3;
+        }
+        List<PlayerScore> delta = List.of(scores.get(3));
+        long deadline = System.currentTimeMillis() + 10_000;
+
+        byte[] textQuestion = toArray(ServerMessage.question(3, 15, question, 10, deadline).textFrame());
+        byte[] binaryQuestion = toArray(ServerMessage.question(3, 15, question, 10, deadline).binaryFrame());
+        byte[] textScores = toArray(ServerMessage.scores(scores).textFrame());
+        byte[] binaryScores = toArray(ServerMessage.scores(scores).binaryFrame());
+        byte[] textDelta = toArray(ServerMessage.scoreDelta(delta).textFrame());
+        byte[] binaryDelta = toArray(ServerMessage.scoreDelta(delta).binaryFrame());
+        ByteBuffer textAnswer = ByteBuffer.wrap("B\n".getBytes(StandardCharsets.UTF_8));
+        ByteBuffer binaryAnswer = ByteBuffer.allocate(8);
+        ClientFrames.answer(binaryAnswer, 1);
+        binaryAnswer.flip();
+
+        ServerFrames.Listener clientSide = new ServerFrames.Listener() {
+            @Override
+            public void onQuestion(int number, int total, String text, String[] options, int timeLimit,
+                                   long deadline) {
+                sink += number + text.length() + options.length;
+            }
+
+            @Override
+            public void onScores(int[] playerIds, String[] playerNames, int[] playerScores) {
+                sink += playerNames.length;
+            }
+        };
+        ClientFrames.Listener serverSide = new ClientFrames.Listener() {
+            @Override public void onHello(String name) { }
+            @Override public void onCommand(String command) { }
+            @Override public void onCreate() { }
+            @Override public void onJoin(String code) { }
+            @Override public void onStart() { }
+            @Override public void onNext() { }
+            @Override public void onAnswer(int index) { sink += index; }
+            @Override public void onPing(long clientTime) { }
+        };
+
+        System.out.printf("%-22s %8s %8s %12s %12s%n", "case", "text B", "bin B", "text ns/op", "bin ns/op");
+        report("encode QUESTION", textQuestion.length, binaryQuestion.length, iterations,
+                () -> sink += ServerMessage.question(3, 15, question, 10, deadline).textFrame().remaining(),
+                () -> sink += ServerFrames.question(3, 15, question.binaryBody(), 10, deadline).remaining());
+        report("decode QUESTION", textQuestion.length, binaryQuestion.length, iterations,
+                () -> sink += parseTextQuestion(new String(textQuestion, StandardCharsets.UTF_8).trim()),
+                () -> ServerFrames.decode(ByteBuffer.wrap(binaryQuestion), clientSide));
+        report("encode SCORES", textScores.length, binaryScores.length, iterations,
+                () -> sink += ServerMessage.scores(scores).textFrame().remaining(),
+                () -> sink += ServerFrames.scores(MessageType.SCORES, ids, names, values, players).remaining());
+        report("decode SCORES", textScores.length, binaryScores.length, iterations,
+                () -> sink += parseTextScores(new String(textScores, StandardCharsets.UTF_8).trim()),
+                () -> ServerFrames.decode(ByteBuffer.wrap(binaryScores), clientSide));
+        report("encode SCORE_DELTA", textDelta.length, binaryDelta.length, iterations,
+                () -> sink += ServerMessage.scoreDelta(delta).textFrame().remaining(),
+                () -> sink += ServerFrames.scoreDelta(ids, values, 1).remaining());
+        report("decode ANSWER", textAnswer.remaining(), binaryAnswer.remaining(), iterations,
+                () -> sink += parseTextAnswer(textAnswer.duplicate()),
+                () -> ClientFrames.decode(binaryAnswer.duplicate(), serverSide));
+        System.out.println("(sink " + (sink & 1) + ")");
+    }
+
+    // Measures both variants in alternating rounds and prints one row
+    private static void report(String name, int textBytes, int binaryBytes, int iterations,
+                               Runnable text, Runnable binary) {
+        long[] textTimes = new long[ROUNDS];
+        long[] binaryTimes = new long[ROUNDS];
+        // Warm-up
+        time(text, iterations);
+        time(binary, iterations);
+        for (int round = 0; round < ROUNDS; round++) {
+            textTimes[round] = time(text, iterations);
+            binaryTimes[round] = time(binary, iterations);
+        }
+        System.out.printf("%-22s %8d %8d %12.1f %12.1f%n", name, textBytes, binaryBytes,
+                median(textTimes) / (double) iterations, median(binaryTimes) / (double) iterations);
+    }
+
+    private static long time(Runnable task, int iterations) {
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            task.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static byte[] toArray(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    // The client's text parsing of a question, as GameClient does it
+    private static int parseTextQuestion(String message) {
+        String[] parts = message.split("\\|");
+        String[] questionParts = parts[0].substring(9).split(":", 2);
+        String[] progress = questionParts[0].split("/");
+        int current = Integer.parseInt(progress[0]);
+        String[] options = Arrays.copyOfRange(parts, 1, 5);
+        return current + questionParts[1].length() + options.length;
+    }
+
+    // The client's text parsing of a score table, as GameClient does it
+    private static int parseTextScores(String message) {
+        String[] options = {"Oxygen", "Hydrogen", "Nitrogen", "Carbon Dioxide"};
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (String entry : message.substring(7).split(",")) {
+            String[] pair = entry.split(":");
+            scores.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return scores.size();
+    }
+
+    // The server's text handling of an answer: assemble the line, then match the letter
+    private static int parseTextAnswer(ByteBuffer bytes) {
+        StringBuilder line = new StringBuilder();
+        while (bytes.hasRemaining()) {
+            byte b = bytes.get();
+            if (b == '\n') break;
+            line.append((char) b);
+        }
+        String command = line.toString();
+        return command.length() == 1 && "ABCD".contains(command.toUpperCase()) ? command.charAt(0) : -1;
+    }
+}
@@ -0,0 +1,233 @@
+package org.example.bench;
+
+import org.example.server.ServerMode;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The ServerModeBenchmark class compares the server's connection modes side by side.
+ * For each {@link ServerMode} it starts a GameServer in a separate JVM, opens as many
+ * simulated players as requested, then plays one question in every room and reports:
+ * - the peak number of players that completed the name handshake
+ * - the number of threads the server process needed for them
+ * - p50/p99 latency from sending an answer to receiving its ANSWER_RESULT
+ *
+ * Usage: ServerModeBenchmark [connections] [roomSize] [modes]
+ * e.g.   ServerModeBenchmark 2000 8 thread,virtual,nio
+ */
+public class ServerModeBenchmark {
+    private static final int BASE_PORT = 50100;
+    private static final int SOCKET_TIMEOUT_MILLIS = 30_000;
+
+    /**
+     * Runs the benchmark for every requested mode and prints a comparison table.
+     *
+     * @param args connections, room size and a comma-separated list of modes (all optional)
+     * @throws Exception if a server process cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int roomSize = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        String modes = args.length > 2 ? args[2] : "thread,virtual,nio";
+
+        List<String> rows = new ArrayList<>();
+        int port = BASE_PORT;
+        for (String mode : modes.split(",")) {
+            ServerMode serverMode = ServerMode.valueOf(mode.trim().toUpperCase());
+            rows.add(run(serverMode, port++, connections, roomSize));
+        }
+
+        System.out.println();
+        System.out.printf("%-8s %10s %8s %9s %12s %12s%n",
+                "mode", "connected", "failed", "threads", "answer p50", "answer p99");
+        rows.forEach(System.out::println);
+    }
+
+    // Benchmarks one server mode in its own JVM
+    private static String run(ServerMode mode, int port, int connections, int roomSize) throws Exception {
+        System.out.println("Benchmarking " + mode + " mode with " + connections + " players...");
+        Process server = startServer(mode, port);
+        List<SimPlayer> players = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger failed = new AtomicInteger();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            // Phase 1: connect everyone and complete the name handshake
+            List<Future<?>> handshakes = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                String name = "p" + i;
+                handshakes.add(clients.submit(() -> {
+                    try {
+                        players.add(SimPlayer.connect(port, name));
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> handshake : handshakes) {
+                handshake.get();
+            }
+            int connected = players.size();
+            int serverThreads = threadCount(server.pid());
+
+            // Phase 2: group players into rooms and answer the first question
+            List<SimPlayer> ordered = new ArrayList<>(players);
+            ordered.sort(Comparator.comparing(p -> p.name));
+            long[] latencies = new long[ordered.size()];
+            AtomicInteger answered = new AtomicInteger();
+            List<Future<?>> rooms = new ArrayList<>();
+            for (int start = 0; start < ordered.size(); start += roomSize) {
+                List<SimPlayer> room = ordered.subList(start, Math.min(start + roomSize, ordered.size()));
+                rooms.add(clients.submit(() -> playRoom(room, latencies, answered)));
+            }
+            for (Future<?> room : rooms) {
+                try {
+                    room.get();
+                } catch (ExecutionException e) {
+                    failed.incrementAndGet();
+                }
+            }
+
+            long[] measured = Arrays.copyOf(latencies, answered.get());
+            Arrays.sort(measured);
+            return String.format("%-8s %10d %8d %9s %10.2fms %10.2fms",
+                    mode.name().toLowerCase(), connected, failed.get(),
+                    serverThreads < 0 ? "n/a" : String.valueOf(serverThreads),
+                    percentile(measured, 0.50) / 1e6, percentile(measured, 0.99) / 1e6);
+        } finally {
+            for (SimPlayer player : players) {
+                player.close();
+            }
+            server.destroy();
+            if (!server.waitFor(5, TimeUnit.SECONDS)) {
+                server.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    // Host creates the room, everyone joins, the host starts and every player answers once
+    private static void playRoom(List<SimPlayer> room, long[] latencies, AtomicInteger answered) {
+        try {
+            SimPlayer host = room.get(0);
+            host.send("create");
+            String code = host.awaitPrefix("ROOM_CODE:").substring("ROOM_CODE:".length());
+            for (SimPlayer player : room.subList(1, room.size())) {
+                player.send("join");
+                player.send(code);
+                player.awaitPrefix("JOIN_SUCCESS:");
+            }
+            host.send("start");
+
+            try (ExecutorService answering = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (SimPlayer player : room) {
+                    answering.submit(() -> {
+                        player.awaitPrefix("QUESTION:");
+                        long sentAt = System.nanoTime();
+                        player.send("A");
+                        player.awaitPrefix("ANSWER_RESULT:");
+                        latencies[answered.getAndIncrement()] = System.nanoTime() - sentAt;
+                        return null;
+                    });
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Launches the server in a child JVM with the same classpath and waits until it accepts connections
+    private static Process startServer(ServerMode mode, int port) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "org.example.server.GameServer", mode.name(), String.valueOf(port))
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (Socket probe = new Socket("localhost", port)) {
+                return process;
+            } catch (IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        process.destroy();
+        throw new IOException("Server did not start on port " + port);
+    }
+
+    // Reads the live thread count of a process (Linux only, -1 elsewhere)
+    private static int threadCount(long pid) {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith("Threads:")) {
+                    return Integer.parseInt(line.substring(8).trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // not available on this platform
+        }
+        return -1;
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * A simulated player speaking the server's text protocol over a blocking socket.
+     */
+    private static final class SimPlayer implements Closeable {
+        private final String name;
+        private final Socket socket;
+        private final BufferedReader input;
+        private final PrintWriter output;
+
+        private SimPlayer(String name, Socket socket) throws IOException {
+            this.name = name;
+            this.socket = socket;
+            this.input = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+            this.output = new PrintWriter(socket.getOutputStream(), true);
+        }
+
+        // Connects and completes the name handshake
+        static SimPlayer connect(int port, String name) throws IOException {
+            Socket socket = new Socket("localhost", port);
+            socket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+            SimPlayer player = new SimPlayer(name, socket);
+            player.awaitPrefix("Enter your name:");
+            player.send(name);
+            player.awaitPrefix("Hello ");
+            return player;
+        }
+
+        void send(String line) {
+            output.println(line);
+        }
+
+        // Skips lines until one starts with the prefix
+        String awaitPrefix(String prefix) throws IOException {
+            String line;
+            while ((line = input.readLine()) != null) {
+                if (line.startsWith(prefix)) {
+                    return line;
+                }
+            }
+            throw new EOFException("Connection closed while waiting for " + prefix);
+        }
+
+        @Override
+        public void close() {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // closing anyway
+            }
+        }
+    }
+}
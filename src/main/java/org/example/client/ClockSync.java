@@ -0,0 +1,55 @@
+package org.example.client;
+
+/**
+ * The ClockSync class estimates how far the server's clock is ahead of this machine's,
+ * from PING/PONG round trips. Each sample assumes the server read its clock halfway
+ * through the round trip; the sample with the shortest round trip in a round is the
+ * least distorted by network delay, so it is the one kept.
+ *
+ * Question deadlines arrive in server time; {@link #serverTimeMillis()} lets the
+ * question screen count down to them on the local clock.
+ */
+public class ClockSync {
+    private volatile long offsetMillis;
+    private long bestRoundTrip = Long.MAX_VALUE;
+
+    /**
+     * Starts a new round of samples, so an old low-latency sample cannot hide drift.
+     * The current offset stays in use until the round produces one.
+     */
+    public synchronized void startRound() {
+        bestRoundTrip = Long.MAX_VALUE;
+    }
+
+    /**
+     * Adds the result of one PING/PONG exchange.
+     *
+     * @param clientSent     the local time the PING was sent, echoed back by the server
+     * @param serverTime     the server's clock when it answered
+     * @param clientReceived the local time the PONG arrived
+     */
+    public synchronized void addSample(long clientSent, long serverTime, long clientReceived) {
+        long roundTrip = clientReceived - clientSent;
+        if (roundTrip < 0 || roundTrip > bestRoundTrip) return;
+        bestRoundTrip = roundTrip;
+        offsetMillis = serverTime + roundTrip / 2 - clientReceived;
+    }
+
+    /**
+     * Returns the current estimate of the server's clock.
+     *
+     * @return the server time in epoch milliseconds
+     */
+    public long serverTimeMillis() {
+        return System.currentTimeMillis() + offsetMillis;
+    }
+
+    /**
+     * Returns how far the server's clock is ahead of the local one.
+     *
+     * @return the offset in milliseconds (negative if the server is behind)
+     */
+    public long getOffsetMillis() {
+        return offsetMillis;
+    }
+}
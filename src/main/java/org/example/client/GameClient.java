@@ -2,10 +2,18 @@ package org.example.client;
 
 import javafx.application.Platform;
 import javafx.scene.control.Alert;
+import org.example.logging.Log;
+import org.example.protocol.ClientFrames;
+import org.example.protocol.Protocol;
+import org.example.protocol.ServerFrames;
+import org.example.protocol.WireCodec;
+
 import java.io.*;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
 
 /**
  * GameClient handles the connection and communication with the trivia game server.
@@ -14,19 +22,41 @@ import java.util.stream.Collectors;
  *
  * This class runs a background thread to continuously listen for server messages
  * and updates the JavaFX UI accordingly using Platform.runLater().
+ *
+ * By default the client asks the server for the binary protocol during the name
+ * handshake; start it with -Dtrivia.protocol=text to stay on the newline text protocol.
+ * Both protocols feed the same handler methods.
  */
 public class GameClient {
     private Socket socket;
-    private BufferedReader input;
-    private PrintWriter output;
+    private DataInputStream input;
+    private OutputStream output;
+    private final boolean preferBinary = !"text".equalsIgnoreCase(System.getProperty("trivia.protocol"));
+    // Guards output; frames are encoded into it and written in one call
+    private final ByteBuffer sendBuffer = ByteBuffer.allocate(1 + WireCodec.MAX_VARINT_BYTES + Protocol.MAX_CLIENT_PAYLOAD);
+    private volatile boolean binaryOutbound;
+    // Name to introduce once the server answers the binary request; sends wait until then
+    private String pendingHello;
+    private final List<Runnable> heldSends = new ArrayList<>();
+    private final ByteArrayOutputStream lineBuffer = new ByteArrayOutputStream();
+    private static final Log LOG = Log.get("client");
+    // Clock samples per sync round, and the pauses between samples and between rounds
+    private static final int CLOCK_SAMPLES = 5;
+    private static final long CLOCK_SAMPLE_INTERVAL_MILLIS = 200;
+    private static final long CLOCK_RESYNC_INTERVAL_MILLIS = 60_000;
+    private final ClockSync clock = new ClockSync();
     String roomCode;
     private String playerName;
     private Runnable onRoomCreated;
     private QuestionScreen questionScreen;
     private int currentScore = 0; //Added new score var
+    // Player ids from the last score snapshot, used to resolve deltas; listener thread only
+    private final Map<Integer, String> namesById = new HashMap<>();
 
     // Field to hold the lobby instance
     private GameLobby gameLobby;
+    // Where UI updates run; the JavaFX application thread except in benchmarks
+    private final Executor uiThread;
 
     /**
      * Constructs a GameClient and connects to the server.
@@ -36,13 +66,26 @@ public class GameClient {
      * @throws IOException if the connection fails
      */
     public GameClient(String host, int port) throws IOException {
+        uiThread = Platform::runLater;
         socket = new Socket(host, port);
-        input = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-        output = new PrintWriter(socket.getOutputStream(), true);
+        input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        output = socket.getOutputStream();
         new Thread(this::listenForMessages).start();
         this.questionScreen = new QuestionScreen(this);
     }
 
+    /**
+     * Constructs a GameClient with no connection, whose UI updates go to the given executor
+     * instead of the JavaFX thread. Benchmarks use it to drive the message handlers
+     * without a server or a display.
+     *
+     * @param uiThread runs the UI updates the handlers produce
+     */
+    GameClient(Executor uiThread) {
+        this.uiThread = uiThread;
+        this.questionScreen = new QuestionScreen(this);
+    }
+
     /**
      * Sets a callback to be executed when the room is successfully created.
      *
@@ -62,56 +105,287 @@ public class GameClient {
     }
 
     /**
-     * Sends a message to the server.
+     * Sends a raw text command to the server.
      *
      * @param message the message to send
      */
     public void sendMessage(String message) {
-        output.println(message);
+        synchronized (sendBuffer) {
+            if (holdWhileNegotiating(() -> sendMessage(message))) return;
+            if (binaryOutbound) {
+                sendBuffer.clear();
+                ClientFrames.command(sendBuffer, message);
+                writeSendBuffer();
+            } else {
+                writeLine(message);
+            }
+        }
     }
 
     /**
-     * Sets the player name and notifies the server.
+     * Sets the player name and notifies the server, asking for the binary protocol first
+     * unless the text protocol was requested. In that case the name goes out once the
+     * server has answered, as a HELLO frame if it accepted and as a text line if it refused.
      *
      * @param name the name of the player
      */
     public void setPlayerName(String name) {
         this.playerName = name;
-        output.println(name);
+        synchronized (sendBuffer) {
+            if (preferBinary) {
+                pendingHello = name;
+                writeLine(Protocol.BINARY_REQUEST);
+            } else {
+                writeLine(name);
+            }
+        }
+        Thread.ofVirtual().name("clock-sync").start(this::syncClock);
+    }
+
+    // Holds a send back while the binary request is unanswered; caller holds the send lock
+    private boolean holdWhileNegotiating(Runnable send) {
+        if (pendingHello == null) return false;
+        heldSends.add(send);
+        return true;
+    }
+
+    // Introduces the player in whichever protocol the server chose, then sends what was held back
+    private void finishNegotiation(boolean accepted) {
+        synchronized (sendBuffer) {
+            String name = pendingHello;
+            if (name == null) return;
+            pendingHello = null;
+            if (accepted) {
+                // The server reads frames from the line after the request on
+                binaryOutbound = true;
+                sendBuffer.clear();
+                ClientFrames.hello(sendBuffer, name);
+                writeSendBuffer();
+            } else {
+                writeLine(name);
+            }
+            List<Runnable> held = new ArrayList<>(heldSends);
+            heldSends.clear();
+            held.forEach(Runnable::run);
+        }
+    }
+
+    // Sends a burst of clock probes now and then for as long as the connection lasts
+    private void syncClock() {
+        try {
+            while (!socket.isClosed()) {
+                clock.startRound();
+                for (int i = 0; i < CLOCK_SAMPLES && !socket.isClosed(); i++) {
+                    sendPing();
+                    Thread.sleep(CLOCK_SAMPLE_INTERVAL_MILLIS);
+                }
+                Thread.sleep(CLOCK_RESYNC_INTERVAL_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void sendPing() {
+        synchronized (sendBuffer) {
+            if (holdWhileNegotiating(this::sendPing)) return;
+            long now = System.currentTimeMillis();
+            if (!binaryOutbound) {
+                writeLine("PING:" + now);
+                return;
+            }
+            sendBuffer.clear();
+            ClientFrames.ping(sendBuffer, now);
+            writeSendBuffer();
+        }
+    }
+
+    /**
+     * Asks the server to create a new room with this player as host.
+     */
+    public void createRoom() {
+        synchronized (sendBuffer) {
+            if (holdWhileNegotiating(this::createRoom)) return;
+            if (!binaryOutbound) {
+                writeLine("create");
+                return;
+            }
+            sendBuffer.clear();
+            ClientFrames.create(sendBuffer);
+            writeSendBuffer();
+        }
+    }
+
+    /**
+     * Asks the server to join the room with the given code.
+     *
+     * @param code the room code
+     */
+    public void joinRoom(String code) {
+        synchronized (sendBuffer) {
+            if (holdWhileNegotiating(() -> joinRoom(code))) return;
+            if (!binaryOutbound) {
+                // Sent in two parts as the text protocol expects
+                writeLine("join");
+                writeLine(code);
+                return;
+            }
+            sendBuffer.clear();
+            ClientFrames.join(sendBuffer, code);
+            writeSendBuffer();
+        }
+    }
+
+    /**
+     * Asks the server for a full snapshot of the scores.
+     */
+    public void requestScores() {
+        sendMessage("scores");
+    }
+
+    /**
+     * Asks the server to start the game (host only).
+     */
+    public void startGame() {
+        synchronized (sendBuffer) {
+            if (holdWhileNegotiating(this::startGame)) return;
+            if (!binaryOutbound) {
+                writeLine("start");
+                return;
+            }
+            sendBuffer.clear();
+            ClientFrames.start(sendBuffer);
+            writeSendBuffer();
+        }
+    }
+
+    /**
+     * Submits an answer to the current question.
+     *
+     * @param answer the chosen option, 'A' to 'D'
+     */
+    public void submitAnswer(char answer) {
+        synchronized (sendBuffer) {
+            if (holdWhileNegotiating(() -> submitAnswer(answer))) return;
+            if (!binaryOutbound) {
+                writeLine(String.valueOf(answer));
+                return;
+            }
+            sendBuffer.clear();
+            ClientFrames.answer(sendBuffer, Character.toUpperCase(answer) - 'A');
+            writeSendBuffer();
+        }
+    }
+
+    // Writes one text line; caller holds the send lock
+    private void writeLine(String line) {
+        try {
+            output.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+            output.flush();
+        } catch (IOException e) {
+            LOG.warn("Error sending message: {}", e.getMessage());
+        }
+    }
+
+    // Writes the frame encoded in the send buffer; caller holds the send lock
+    private void writeSendBuffer() {
+        try {
+            output.write(sendBuffer.array(), 0, sendBuffer.position());
+            output.flush();
+        } catch (IOException e) {
+            LOG.warn("Error sending message: {}", e.getMessage());
+        }
     }
 
     /**
      * Continuously listens for messages from the server in a background thread.
-     * Parses and handles incoming messages appropriately.
+     * Reads text lines until the server accepts the binary protocol, then frames.
+     * A refusal keeps the connection on text lines.
      */
     private void listenForMessages() {
         try {
             String message;
-            while ((message = input.readLine()) != null) {
-                System.out.println("Received: " + message);
+            while ((message = readLine()) != null) {
+                if (message.equals(Protocol.BINARY_ACCEPTED)) {
+                    finishNegotiation(true);
+                    listenForFrames();
+                    return;
+                }
+                if (message.startsWith(Protocol.REFUSED_PREFIX)) {
+                    LOG.warn("Server refused the binary protocol: {}", message);
+                    finishNegotiation(false);
+                    continue;
+                }
                 handleServerMessage(message);
             }
-        } catch (IOException e) {
-            Platform.runLater(() -> showError("Disconnected from server"));
+            throw new EOFException();
+        } catch (IOException | IllegalArgumentException e) {
+            uiThread.execute(() -> showError("Disconnected from server"));
+        }
+    }
+
+    // Reads one UTF-8 line, or null at the end of the stream
+    private String readLine() throws IOException {
+        lineBuffer.reset();
+        int b;
+        while ((b = input.read()) != '\n') {
+            if (b < 0) {
+                return lineBuffer.size() > 0 ? lineBuffer.toString(StandardCharsets.UTF_8) : null;
+            }
+            if (b != '\r') lineBuffer.write(b);
+        }
+        return lineBuffer.toString(StandardCharsets.UTF_8);
+    }
+
+    // Reads binary frames into one reused buffer and decodes them until the connection ends
+    private void listenForFrames() throws IOException {
+        ServerFrames.Listener listener = new BinaryMessages();
+        byte[] frame = new byte[256];
+        ByteBuffer view = ByteBuffer.wrap(frame);
+        while (true) {
+            int type = input.read();
+            if (type < 0) throw new EOFException();
+            int length = readVarInt();
+            if (length > Protocol.MAX_SERVER_PAYLOAD) {
+                throw new IOException("Frame too large: " + length);
+            }
+            int total = WireCodec.frameSize(length);
+            if (frame.length < total) {
+                frame = new byte[Math.max(total, frame.length * 2)];
+                view = ByteBuffer.wrap(frame);
+            }
+            // Rebuild the header in front of the payload so the shared decoder sees a whole frame
+            view.clear().limit(total);
+            view.put((byte) type);
+            WireCodec.putVarInt(view, length);
+            input.readFully(frame, view.position(), length);
+            view.position(0);
+            ServerFrames.decode(view, listener);
         }
     }
 
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = input.read();
+            if (b < 0) throw new EOFException();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed frame length");
+    }
+
     /**
      * Handles different types of server messages and updates the UI accordingly.
      *
      * @param message the message received from the server
      */
-    private void handleServerMessage(String message) {
-        System.out.println("Received: " + message);
+    void handleServerMessage(String message) {
+        LOG.debug("Received: {}", message);
 
         try {
             if (message.startsWith("ROOM_CODE:")) {
-                this.roomCode = message.substring(10);
-                Platform.runLater(() -> {
-                    if (onRoomCreated != null) {
-                        onRoomCreated.run();
-                    }
-                });
+                onRoomCode(message.substring(10));
             } else if (message.startsWith("JOIN_SUCCESS:")){
                 this.roomCode = message.substring(13);
             } else if (message.startsWith("Joined game successfully")){
@@ -120,16 +394,10 @@ public class GameClient {
                 }
             }
             else if (message.startsWith("PLAYER_LIST:")) {
-                String[] players = message.substring(12).split(",");
-                // Use the lobby instance to update the player list
-                Platform.runLater(() -> {
-                    if (gameLobby != null) {
-                        gameLobby.updatePlayerList(players);
-                    }
-                });
+                onPlayerList(message.substring(12).split(","));
             }
             else if (message.startsWith("QUESTION:")) {
-                // Format: "QUESTION:1/15:text|A|B|C|D|correct|time"
+                // Format: "QUESTION:1/15:text|A|B|C|D|correct|time|deadline"
                 String[] parts = message.split("\\|");
                 if (parts.length >= 6) {
                     // Extract question number and text
@@ -138,15 +406,10 @@ public class GameClient {
                         String[] progress = questionParts[0].split("/");
                         int currentQ = Integer.parseInt(progress[0]);
                         int totalQ = Integer.parseInt(progress[1]);
-
-                        String questionText = questionParts[1];
-                        String[] options = Arrays.copyOfRange(parts, 1, 5);
-
-                        Platform.runLater(() -> {
-                            questionScreen.setTotalQuestions(totalQ);
-                            questionScreen.updateQuestionNumber(currentQ);
-                            questionScreen.show(questionText, options);
-                        });
+                        int timeLimit = parts.length > 6 ? Integer.parseInt(parts[6]) : 0;
+                        long deadline = parts.length > 7 ? Long.parseLong(parts[7]) : 0;
+                        onQuestion(currentQ, totalQ, questionParts[1], Arrays.copyOfRange(parts, 1, 5),
+                                timeLimit, deadline);
                     }
                 }
             }
@@ -156,84 +419,248 @@ public class GameClient {
                 // "ANSWER_RESULT:Incorrect! The correct answer was: Nitrogen|Nitrogen"
                 boolean isCorrect = message.contains("Correct");
                 String[] parts = message.split("\\|");
-                String feedback = parts[0].substring("ANSWER_RESULT:".length());
 
                 // Extract score if available
                 int score = -1;
                 if (message.contains("score:")) {
                     try {
                         String scorePart = message.split("score:")[1];
-                        score = Integer.parseInt(scorePart.split("[^0-9]")[0]);
-                        setCurrentScore(score); //Added new score update
+                        score = Integer.parseInt(scorePart.trim().split("[^0-9]")[0]);
                     } catch (Exception e) {
-                        System.err.println("Error parsing score: " + e.getMessage());
+                        LOG.warn("Error parsing score: {}", e.getMessage());
                     }
                 }
 
                 // Get correct answer (everything after last |)
                 String correctAnswer = parts.length > 1 ? parts[parts.length-1] : "";
-
-                int finalScore = score;
-                Platform.runLater(() -> {
-                    questionScreen.showAnswerFeedback(isCorrect, correctAnswer);
-                    if (finalScore != -1) {
-                        questionScreen.updateScore(finalScore);
-                    }
-                });
+                onAnswerResult(isCorrect, correctAnswer, score);
             }
             else if (message.startsWith("SCORES:")) {
                 try {
-                    Map<String, Integer> scores = parseScores(message.substring(7));
-                    Platform.runLater(() -> {
-                        if (gameLobby != null) {
-                            gameLobby.updateScores(scores);
-                        }
-                        if (scores.containsKey(playerName)) {
-                            questionScreen.updateScore(scores.get(playerName));
-                        }
-                    });
+                    onScores(parseScores(message.substring(7)));
                 } catch (Exception e) {
-                    System.err.println("Error parsing scores: " + e.getMessage());
+                    LOG.warn("Error parsing scores: {}", e.getMessage());
                 }
             }
-            else if (message.startsWith("FINAL_SCORES:")) {
+            else if (message.startsWith("SCORE_DELTA:")) {
                 try {
-                    Map<String, Integer> scores = parseScores(message.substring(13));
-                    Platform.runLater(() -> {
-                        questionScreen.close();
-                        Scoreboard.show(scores);
-                    });
+                    onScoreDelta(parseScoreDelta(message.substring(12)));
                 } catch (Exception e) {
-                    System.err.println("Error parsing final scores: " + e.getMessage());
+                    LOG.warn("Error parsing score delta: {}", e.getMessage());
                 }
             }
-            else if (message.equals("GAME_STARTED")) {
-                Platform.runLater(() -> {
-                    if (gameLobby != null) {
-                        gameLobby.close();
-                    }
-                });
-            }
-            else if (message.startsWith("TIMER_UPDATE:")) {
+            else if (message.startsWith("FINAL_SCORES:")) {
                 try {
-                    String[] parts = message.substring(13).split("\\|");
-                    if (parts.length >= 2) {
-                        double progress = Double.parseDouble(parts[0]);
-                        int timeLeft = Integer.parseInt(parts[1]);
-                        Platform.runLater(() -> questionScreen.updateTimer(progress, timeLeft));
-                    }
-                } catch (NumberFormatException e) {
-                    System.err.println("Error parsing timer update: " + e.getMessage());
+                    onFinalScores(parseScores(message.substring(13)));
+                } catch (Exception e) {
+                    LOG.warn("Error parsing final scores: {}", e.getMessage());
                 }
             }
+            else if (message.equals("GAME_STARTED")) {
+                onGameStarted();
+            }
             else if (message.equals("TIME_UP")) {
-                Platform.runLater(() -> {
-                    questionScreen.showTimeUpFeedback();
-                    questionScreen.updateTimer(0, 0);
-                });
+                onTimeUp();
+            }
+            else if (message.equals("ALL_ANSWERED")) {
+                onAllAnswered();
+            }
+            else if (message.startsWith("PONG:")) {
+                String[] parts = message.substring(5).split("\\|");
+                onPong(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
             }
         } catch (Exception e) {
-            System.err.println("Error handling message: " + message + " - " + e.getMessage());
+            LOG.warn("Error handling message: {} - {}", message, e.getMessage());
+        }
+    }
+
+    // The handlers below are shared by the text parser and the binary decoder
+
+    private void onRoomCode(String code) {
+        this.roomCode = code;
+        uiThread.execute(() -> {
+            if (onRoomCreated != null) {
+                onRoomCreated.run();
+            }
+        });
+    }
+
+    private void onPlayerList(String[] players) {
+        // Use the lobby instance to update the player list
+        uiThread.execute(() -> {
+            if (gameLobby != null) {
+                gameLobby.updatePlayerList(players);
+            }
+        });
+    }
+
+    // The deadline is in server time; 0 means the server sent none
+    private void onQuestion(int currentQ, int totalQ, String questionText, String[] options,
+                            int timeLimit, long deadline) {
+        uiThread.execute(() -> {
+            questionScreen.setTotalQuestions(totalQ);
+            // show() builds a fresh header, so the number goes in afterwards
+            questionScreen.show(questionText, options);
+            questionScreen.updateQuestionNumber(currentQ);
+            if (deadline > 0) {
+                questionScreen.startCountdown(deadline, timeLimit, clock);
+            }
+        });
+    }
+
+    // A score of -1 means the message carried none
+    private void onAnswerResult(boolean isCorrect, String correctAnswer, int score) {
+        if (score != -1) {
+            setCurrentScore(score);
+        }
+        uiThread.execute(() -> {
+            questionScreen.showAnswerFeedback(isCorrect, correctAnswer);
+            if (score != -1) {
+                questionScreen.updateScore(score);
+            }
+        });
+    }
+
+    private void onScores(Map<String, Integer> scores) {
+        uiThread.execute(() -> {
+            if (gameLobby != null) {
+                gameLobby.updateScores(scores);
+            }
+            if (scores.containsKey(playerName)) {
+                questionScreen.updateScore(scores.get(playerName));
+            }
+        });
+    }
+
+    private void onScoreDelta(Map<String, Integer> changed) {
+        uiThread.execute(() -> {
+            if (gameLobby != null) {
+                gameLobby.applyScoreDeltas(changed);
+            }
+            if (changed.containsKey(playerName)) {
+                questionScreen.updateScore(changed.get(playerName));
+            }
+        });
+    }
+
+    private void onFinalScores(Map<String, Integer> scores) {
+        uiThread.execute(() -> {
+            questionScreen.close();
+            Scoreboard.show(scores);
+        });
+    }
+
+    private void onGameStarted() {
+        uiThread.execute(() -> {
+            if (gameLobby != null) {
+                gameLobby.close();
+            }
+        });
+    }
+
+    private void onTimeUp() {
+        uiThread.execute(() -> {
+            questionScreen.stopCountdown();
+            questionScreen.showTimeUpFeedback();
+            questionScreen.updateTimer(0, 0);
+        });
+    }
+
+    // The question closed early; the countdown stops but the answer feedback stays
+    private void onAllAnswered() {
+        uiThread.execute(questionScreen::stopCountdown);
+    }
+
+    private void onPong(long clientSent, long serverTime) {
+        clock.addSample(clientSent, serverTime, System.currentTimeMillis());
+    }
+
+    /**
+     * Feeds decoded binary frames into the same handlers as the text protocol.
+     */
+    private final class BinaryMessages implements ServerFrames.Listener {
+        @Override
+        public void onText(String text) {
+            handleServerMessage(text);
+        }
+
+        @Override
+        public void onJoinSuccess(String code) {
+            roomCode = code;
+        }
+
+        @Override
+        public void onJoinError(String reason) {
+            LOG.info("Join failed: {}", reason);
+        }
+
+        @Override
+        public void onRoomCode(String code) {
+            GameClient.this.onRoomCode(code);
+        }
+
+        @Override
+        public void onPlayerList(String[] names) {
+            GameClient.this.onPlayerList(names);
+        }
+
+        @Override
+        public void onGameStarted() {
+            GameClient.this.onGameStarted();
+        }
+
+        @Override
+        public void onQuestion(int number, int total, String text, String[] options, int timeLimit, long deadline) {
+            GameClient.this.onQuestion(number, total, text, options, timeLimit, deadline);
+        }
+
+        @Override
+        public void onAnswerResult(boolean correct, int score, String correctAnswer) {
+            GameClient.this.onAnswerResult(correct, correctAnswer, score);
+        }
+
+        @Override
+        public void onScores(int[] ids, String[] names, int[] scores) {
+            GameClient.this.onScores(toScoreMap(ids, names, scores));
+        }
+
+        @Override
+        public void onFinalScores(int[] ids, String[] names, int[] scores) {
+            GameClient.this.onFinalScores(toScoreMap(ids, names, scores));
+        }
+
+        @Override
+        public void onScoreDelta(int[] ids, int[] scores) {
+            Map<String, Integer> changed = new HashMap<>();
+            for (int i = 0; i < ids.length; i++) {
+                String name = namesById.get(ids[i]);
+                if (name != null) changed.put(name, scores[i]);
+            }
+            GameClient.this.onScoreDelta(changed);
+        }
+
+        @Override
+        public void onTimeUp() {
+            GameClient.this.onTimeUp();
+        }
+
+        @Override
+        public void onAllAnswered() {
+            GameClient.this.onAllAnswered();
+        }
+
+        @Override
+        public void onPong(long clientTime, long serverTime) {
+            GameClient.this.onPong(clientTime, serverTime);
+        }
+
+        private Map<String, Integer> toScoreMap(int[] ids, String[] names, int[] scores) {
+            Map<String, Integer> map = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                namesById.put(ids[i], names[i]);
+                map.put(names[i], scores[i]);
+            }
+            return map;
         }
     }
 
@@ -244,12 +671,35 @@ public class GameClient {
      * @return a map of player names to scores
      */
     private Map<String, Integer> parseScores(String scoresStr) {
-        return Arrays.stream(scoresStr.split(","))
-                .map(s -> s.split(":"))
-                .collect(Collectors.toMap(
-                        arr -> arr[0],
-                        arr -> Integer.parseInt(arr[1])
-                ));
+        Map<String, Integer> scores = new LinkedHashMap<>();
+        for (String entry : scoresStr.split(",")) {
+            // "name:score" or "name:score:id"
+            String[] arr = entry.split(":");
+            scores.put(arr[0], Integer.parseInt(arr[1]));
+            if (arr.length > 2) {
+                namesById.put(Integer.parseInt(arr[2]), arr[0]);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Parses a score delta ("id:score,id:score") into a map of player names and new scores,
+     * resolving ids against the last snapshot.
+     *
+     * @param deltaStr the raw delta string from the server
+     * @return a map of player names to their new scores
+     */
+    private Map<String, Integer> parseScoreDelta(String deltaStr) {
+        Map<String, Integer> changed = new HashMap<>();
+        for (String entry : deltaStr.split(",")) {
+            String[] arr = entry.split(":");
+            String name = namesById.get(Integer.parseInt(arr[0]));
+            if (name != null) {
+                changed.put(name, Integer.parseInt(arr[1]));
+            }
+        }
+        return changed;
     }
 
     /**
@@ -258,7 +708,7 @@ public class GameClient {
      * @param message the message to display
      */
     private void showError(String message) {
-        Platform.runLater(() -> {
+        uiThread.execute(() -> {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setContentText(message);
             alert.showAndWait();
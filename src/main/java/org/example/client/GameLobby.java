@@ -7,6 +7,7 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.stage.Stage;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -19,6 +20,8 @@ public class GameLobby {
     private boolean isHost;
     private final ObservableList<String> players = FXCollections.observableArrayList();
     private final Label scoreLabel = new Label();
+    // Last known score of every player; only touched on the JavaFX thread
+    private final Map<String, Integer> scores = new HashMap<>();
     private static int windowOffset = 0; // Tracks window positions for multiple instances
 
     /**
@@ -52,7 +55,7 @@ public class GameLobby {
         startBtn.setStyle(Theme.getPrimaryButtonStyle());
         startBtn.setDisable(!isHost);
         startBtn.setOnAction(e -> {
-            client.sendMessage("start");
+            client.startGame();
             startBtn.setDisable(true);
         });
 
@@ -74,37 +77,59 @@ public class GameLobby {
 
     /**
      * Updates the list of players displayed in the lobby.
+     * Must be called on the JavaFX thread, where the client's message handlers already run.
      *
      * @param playerNames an array of player names
      */
     public void updatePlayerList(String[] playerNames) {
-        Platform.runLater(() -> players.setAll(playerNames));
+        assert Platform.isFxApplicationThread();
+        players.setAll(playerNames);
     }
 
     /**
-     * Updates the scores displayed in the lobby.
+     * Replaces the scores displayed in the lobby with a full snapshot.
+     * Must be called on the JavaFX thread.
      *
      * @param scores a map of player names to their current scores
      */
     public void updateScores(Map<String, Integer> scores) {
-        Platform.runLater(() -> {
-            StringBuilder scoresText = new StringBuilder();
-            scores.entrySet().stream()
-                    .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
-                    .forEach(e -> scoresText.append(e.getKey())
-                            .append(": ")
-                            .append(e.getValue())
-                            .append("\n"));
-            scoreLabel.setText(scoresText.toString());
-        });
+        assert Platform.isFxApplicationThread();
+        this.scores.clear();
+        this.scores.putAll(scores);
+        renderScores();
+    }
+
+    /**
+     * Applies the scores that changed since the last update, leaving the others as they are.
+     * Must be called on the JavaFX thread.
+     *
+     * @param changed a map of player names to their new scores
+     */
+    public void applyScoreDeltas(Map<String, Integer> changed) {
+        assert Platform.isFxApplicationThread();
+        this.scores.putAll(changed);
+        renderScores();
+    }
+
+    // Redraws the score list, highest first; runs on the JavaFX thread
+    private void renderScores() {
+        StringBuilder scoresText = new StringBuilder();
+        scores.entrySet().stream()
+                .sorted((e1, e2) -> e2.getValue().compareTo(e1.getValue()))
+                .forEach(e -> scoresText.append(e.getKey())
+                        .append(": ")
+                        .append(e.getValue())
+                        .append("\n"));
+        scoreLabel.setText(scoresText.toString());
     }
 
     /**
-     * Closes the lobby window if it's open.
+     * Closes the lobby window if it's open. Must be called on the JavaFX thread.
      */
     public void close() {
+        assert Platform.isFxApplicationThread();
         if (stage != null) {
-            Platform.runLater(() -> stage.close());
+            stage.close();
         }
     }
 }
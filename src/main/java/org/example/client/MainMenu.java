@@ -8,6 +8,7 @@ import javafx.scene.control.*;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.stage.Stage;
+import org.example.logging.Log;
 import java.io.IOException;
 
 /**
@@ -118,7 +119,7 @@ public class MainMenu extends Application {
             client.setGameLobby(lobby);
             lobby.show(client, true, client.roomCode);
         });
-        client.sendMessage("create");
+        client.createRoom();
     }
 
     /**
@@ -142,9 +143,7 @@ public class MainMenu extends Application {
         joinBtn.setOnAction(e -> {
             String code = codeField.getText().trim().toUpperCase();
             if (!code.isEmpty()) {
-                // Send join command in two parts as server expects
-                client.sendMessage("join");
-                client.sendMessage(code);
+                client.joinRoom(code);
 
                 new Thread(() -> {
                     try {
@@ -195,6 +194,7 @@ public class MainMenu extends Application {
     }
 
     public static void main(String[] args) {
+        Log.init("client");
         launch(args);
     }
 }
@@ -1,5 +1,6 @@
 package org.example.client;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.geometry.*;
 import javafx.scene.Scene;
@@ -10,6 +11,15 @@ import javafx.stage.Stage;
 /**
  * Manages the question/answer interface with stable window positioning and state.
  * Handles multiple concurrent question screens without interference.
+ *
+ * The countdown runs locally: an AnimationTimer redraws the bar every frame from the
+ * question's deadline and the client's estimate of the server clock, so the server
+ * never has to send timer ticks.
+ *
+ * Every public method other than the setters must be called on the JavaFX thread, where
+ * the client's message handlers already run; they update the window in place rather than
+ * queueing another {@code Platform.runLater}, so updates apply in the order they arrive.
+ * Updates that come before the first question has been shown are ignored.
  */
 public class QuestionScreen {
     private Stage stage;
@@ -24,6 +34,10 @@ public class QuestionScreen {
     private int totalQuestions = 15;
     private int timeLimit = 10;
     private static int windowOffset = 0;
+    private AnimationTimer countdown;
+    // What the timer currently shows, so labels and styles only change when they must
+    private int shownSeconds = -1;
+    private int shownBand = -1;
 
     /**
      * Constructs a QuestionScreen associated with the given GameClient
@@ -39,101 +53,102 @@ public class QuestionScreen {
      * @param options Array of 4 answer options (A-D)
      */
     public void show(String questionText, String[] options) {
-        Platform.runLater(() -> {
-            if (stage == null) {
-                stage = new Stage();
-                // Position window with offset for multiple instances
-                stage.setX(400 + (windowOffset % 5) * 30);
-                stage.setY(150 + (windowOffset % 5) * 30);
-                windowOffset++;
-
-                // Lock window position after showing
-                stage.setOnShown(e -> {
-                    stage.setX(stage.getX());
-                    stage.setY(stage.getY());
-                });
-            }
-
-            VBox root = new VBox(15);
-            root.setPadding(new Insets(25));
-            root.setStyle("-fx-background-color: #f8f9fa;");
-
-            /* Header Section */
-            HBox headerBox = new HBox(20);
-            headerBox.setAlignment(Pos.CENTER_LEFT);
-            headerBox.setStyle("-fx-background-color: #6a11cb; -fx-padding: 10; -fx-background-radius: 5 5 0 0;");
+        assert Platform.isFxApplicationThread();
+        if (stage == null) {
+            stage = new Stage();
+            // Position window with offset for multiple instances
+            stage.setX(400 + (windowOffset % 5) * 30);
+            stage.setY(150 + (windowOffset % 5) * 30);
+            windowOffset++;
+
+            // Lock window position after showing
+            stage.setOnShown(e -> {
+                stage.setX(stage.getX());
+                stage.setY(stage.getY());
+            });
+        }
 
-            playerNameLabel = new Label("Player: " + client.getPlayerName());
-            playerNameLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
+        VBox root = new VBox(15);
+        root.setPadding(new Insets(25));
+        root.setStyle("-fx-background-color: #f8f9fa;");
 
-            scoreLabel = new Label("Score: Loading...");
-            scoreLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
+        /* Header Section */
+        HBox headerBox = new HBox(20);
+        headerBox.setAlignment(Pos.CENTER_LEFT);
+        headerBox.setStyle("-fx-background-color: #6a11cb; -fx-padding: 10; -fx-background-radius: 5 5 0 0;");
 
-            Region leftSpacer = new Region();
-            HBox.setHgrow(leftSpacer, Priority.ALWAYS);
+        playerNameLabel = new Label("Player: " + client.getPlayerName());
+        playerNameLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
 
-            timerLabel = new Label("Time: " + timeLimit + "s");
-            timerLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
+        scoreLabel = new Label("Score: Loading...");
+        scoreLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
 
-            Region rightSpacer = new Region();
-            HBox.setHgrow(rightSpacer, Priority.ALWAYS);
+        Region leftSpacer = new Region();
+        HBox.setHgrow(leftSpacer, Priority.ALWAYS);
 
-            questionProgressLabel = new Label();
-            questionProgressLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14px; -fx-font-weight: bold;");
+        timerLabel = new Label("Time: " + timeLimit + "s");
+        timerLabel.setStyle("-fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14px;");
 
-            headerBox.getChildren().addAll(
-                    playerNameLabel, scoreLabel, leftSpacer,
-                    timerLabel, rightSpacer, questionProgressLabel
-            );
+        Region rightSpacer = new Region();
+        HBox.setHgrow(rightSpacer, Priority.ALWAYS);
 
-            /* Question Display */
-            Label questionLabel = new Label(questionText);
-            questionLabel.setWrapText(true);
-            questionLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
-            questionLabel.setPadding(new Insets(15, 0, 15, 0));
+        questionProgressLabel = new Label();
+        questionProgressLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14px; -fx-font-weight: bold;");
 
-            /* Answer Options */
-            ToggleGroup optionsGroup = new ToggleGroup();
-            VBox optionsBox = new VBox(10);
-            optionsBox.setPadding(new Insets(0, 0, 15, 0));
+        headerBox.getChildren().addAll(
+                playerNameLabel, scoreLabel, leftSpacer,
+                timerLabel, rightSpacer, questionProgressLabel
+        );
 
-            for (int i = 0; i < options.length; i++) {
-                RadioButton option = new RadioButton((char)(65 + i) + ". " + options[i]);
-                option.setToggleGroup(optionsGroup);
-                option.setUserData((char)('A' + i));
-                option.setStyle("-fx-font-size: 14px; -fx-text-fill: #2c3e50;");
-                option.setPadding(new Insets(8, 5, 8, 5));
-                optionsBox.getChildren().add(option);
-            }
+        /* Question Display */
+        Label questionLabel = new Label(questionText);
+        questionLabel.setWrapText(true);
+        questionLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold; -fx-text-fill: #2c3e50;");
+        questionLabel.setPadding(new Insets(15, 0, 15, 0));
 
-            /* Submit Button */
-            Button submitBtn = new Button("Submit Answer");
-            submitBtn.setStyle(Theme.getPrimaryButtonStyle());
-            submitBtn.setOnAction(e -> handleAnswerSubmission(optionsGroup, submitBtn));
+        /* Answer Options */
+        ToggleGroup optionsGroup = new ToggleGroup();
+        VBox optionsBox = new VBox(10);
+        optionsBox.setPadding(new Insets(0, 0, 15, 0));
 
-            /* Timer Progress Bar */
-            timerBar = new ProgressBar(1.0);
-            timerBar.setPrefWidth(Double.MAX_VALUE);
-            timerBar.setStyle("-fx-accent: #2ecc71; -fx-pref-height: 10px;");
+        for (int i = 0; i < options.length; i++) {
+            RadioButton option = new RadioButton((char)(65 + i) + ". " + options[i]);
+            option.setToggleGroup(optionsGroup);
+            option.setUserData((char)('A' + i));
+            option.setStyle("-fx-font-size: 14px; -fx-text-fill: #2c3e50;");
+            option.setPadding(new Insets(8, 5, 8, 5));
+            optionsBox.getChildren().add(option);
+        }
 
-            /* Feedback Area */
-            feedbackLabel = new Label();
-            feedbackLabel.setStyle("-fx-font-size: 14px;");
-            feedbackBox = new VBox(5, new Separator(), feedbackLabel);
-            feedbackBox.setVisible(false);
-            feedbackBox.setPadding(new Insets(10, 0, 0, 0));
-
-            root.getChildren().addAll(
-                    headerBox, questionLabel, optionsBox,
-                    submitBtn, feedbackBox, timerBar
-            );
-
-            Scene scene = new Scene(root, 600, 500);
-            stage.setScene(scene);
-            stage.setTitle("Question - " + client.getPlayerName());
-            stage.setAlwaysOnTop(true);
-            stage.show();
-        });
+        /* Submit Button */
+        Button submitBtn = new Button("Submit Answer");
+        submitBtn.setStyle(Theme.getPrimaryButtonStyle());
+        submitBtn.setOnAction(e -> handleAnswerSubmission(optionsGroup, submitBtn));
+
+        /* Timer Progress Bar */
+        shownSeconds = -1;
+        shownBand = -1;
+        timerBar = new ProgressBar(1.0);
+        timerBar.setPrefWidth(Double.MAX_VALUE);
+        timerBar.setStyle("-fx-accent: #2ecc71; -fx-pref-height: 10px;");
+
+        /* Feedback Area */
+        feedbackLabel = new Label();
+        feedbackLabel.setStyle("-fx-font-size: 14px;");
+        feedbackBox = new VBox(5, new Separator(), feedbackLabel);
+        feedbackBox.setVisible(false);
+        feedbackBox.setPadding(new Insets(10, 0, 0, 0));
+
+        root.getChildren().addAll(
+                headerBox, questionLabel, optionsBox,
+                submitBtn, feedbackBox, timerBar
+        );
+
+        Scene scene = new Scene(root, 600, 500);
+        stage.setScene(scene);
+        stage.setTitle("Question - " + client.getPlayerName());
+        stage.setAlwaysOnTop(true);
+        stage.show();
     }
 
     /**
@@ -145,7 +160,7 @@ public class QuestionScreen {
         RadioButton selected = (RadioButton) optionsGroup.getSelectedToggle();
         if (selected != null) {
             char answer = (char) selected.getUserData();
-            client.sendMessage(String.valueOf(answer));
+            client.submitAnswer(answer);
 
             submitBtn.setDisable(true);
             submitBtn.setStyle("-fx-background-color: #95a5a6; -fx-text-fill: white;");
@@ -163,30 +178,30 @@ public class QuestionScreen {
      * @param correctAnswer The text of the correct answer
      */
     public void showAnswerFeedback(boolean isCorrect, String correctAnswer) {
-        Platform.runLater(() -> {
-            if (isCorrect) {
-                // Green text for correct answer
-                feedbackLabel.setText("✓ Correct! The answer was: " + correctAnswer);
-                feedbackLabel.setStyle("-fx-text-fill: #2ecc71; -fx-font-size: 14px;");
-            } else {
-                // Red text for incorrect answer
-                feedbackLabel.setText("✗ Incorrect! The correct answer was: " + correctAnswer);
-                feedbackLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-size: 14px;");
-            }
-            feedbackBox.setVisible(true);
-        });
+        assert Platform.isFxApplicationThread();
+        if (feedbackLabel == null) return;
+        if (isCorrect) {
+            // Green text for correct answer
+            feedbackLabel.setText("✓ Correct! The answer was: " + correctAnswer);
+            feedbackLabel.setStyle("-fx-text-fill: #2ecc71; -fx-font-size: 14px;");
+        } else {
+            // Red text for incorrect answer
+            feedbackLabel.setText("✗ Incorrect! The correct answer was: " + correctAnswer);
+            feedbackLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-size: 14px;");
+        }
+        feedbackBox.setVisible(true);
     }
 
     /**
      * Displays time expiration feedback.
      */
     public void showTimeUpFeedback() {
-        Platform.runLater(() -> {
-            // Orange text for time expiration
-            feedbackLabel.setText("⏰ Time's up! Please wait for next question...");
-            feedbackLabel.setStyle("-fx-text-fill: #f39c12; -fx-font-size: 14px;");
-            feedbackBox.setVisible(true);
-        });
+        assert Platform.isFxApplicationThread();
+        if (feedbackLabel == null) return;
+        // Orange text for time expiration
+        feedbackLabel.setText("⏰ Time's up! Please wait for next question...");
+        feedbackLabel.setStyle("-fx-text-fill: #f39c12; -fx-font-size: 14px;");
+        feedbackBox.setVisible(true);
     }
 
     /**
@@ -195,7 +210,9 @@ public class QuestionScreen {
      * @param score The player's new score
      */
     public void updateScore(int score) {
-        Platform.runLater(() -> scoreLabel.setText("Score: " + score));
+        assert Platform.isFxApplicationThread();
+        if (scoreLabel == null) return;
+        scoreLabel.setText("Score: " + score);
     }
 
     /**
@@ -205,26 +222,76 @@ public class QuestionScreen {
      * @param secondsRemaining The number of seconds remaining
      */
     public void updateTimer(double progress, int secondsRemaining) {
-        Platform.runLater(() -> {
-            // Update progress bar and text
-            timerBar.setProgress(progress);
-            timerLabel.setText("Time: " + secondsRemaining + "s");
+        assert Platform.isFxApplicationThread();
+        renderTimer(progress, secondsRemaining);
+    }
 
-            // Change colors based on time remaining
-            if (progress < 0.3) {
-                // Red when time is almost up
-                timerBar.setStyle("-fx-accent: #e74c3c; -fx-pref-height: 10px;");
-                timerLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
-            } else if (progress < 0.6) {
-                // Yellow when time is medium
-                timerBar.setStyle("-fx-accent: #f39c12; -fx-pref-height: 10px;");
-                timerLabel.setStyle("-fx-text-fill: #f39c12; -fx-font-weight: bold;");
-            } else {
-                // Green when plenty of time remains
-                timerBar.setStyle("-fx-accent: #2ecc71; -fx-pref-height: 10px;");
-                timerLabel.setStyle("-fx-text-fill: #2ecc71; -fx-font-weight: bold;");
+    /**
+     * Starts counting down to a question's deadline, redrawing the timer every frame.
+     * Replaces any countdown still running.
+     *
+     * @param deadline     when answers close, in server epoch milliseconds
+     * @param limitSeconds the question's full time limit in seconds
+     * @param clock        the client's estimate of the server clock
+     */
+    public void startCountdown(long deadline, int limitSeconds, ClockSync clock) {
+        assert Platform.isFxApplicationThread();
+        stopCountdown();
+        if (limitSeconds > 0) {
+            timeLimit = limitSeconds;
+        }
+        long limitMillis = timeLimit * 1000L;
+        countdown = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                long remaining = Math.max(0, deadline - clock.serverTimeMillis());
+                double progress = Math.min(1.0, (double) remaining / limitMillis);
+                renderTimer(progress, (int) ((remaining + 999) / 1000));
+                if (remaining == 0) {
+                    stop();
+                }
             }
-        });
+        };
+        countdown.start();
+    }
+
+    /**
+     * Stops the local countdown, leaving the timer as last drawn.
+     */
+    public void stopCountdown() {
+        assert Platform.isFxApplicationThread();
+        if (countdown != null) {
+            countdown.stop();
+            countdown = null;
+        }
+    }
+
+    // Draws the timer; the label and colours are only touched when they actually change
+    private void renderTimer(double progress, int secondsRemaining) {
+        if (timerBar == null) return;
+        timerBar.setProgress(progress);
+        if (secondsRemaining != shownSeconds) {
+            shownSeconds = secondsRemaining;
+            timerLabel.setText("Time: " + secondsRemaining + "s");
+        }
+
+        // Change colors based on time remaining
+        int band = progress < 0.3 ? 2 : progress < 0.6 ? 1 : 0;
+        if (band == shownBand) return;
+        shownBand = band;
+        if (band == 2) {
+            // Red when time is almost up
+            timerBar.setStyle("-fx-accent: #e74c3c; -fx-pref-height: 10px;");
+            timerLabel.setStyle("-fx-text-fill: #e74c3c; -fx-font-weight: bold;");
+        } else if (band == 1) {
+            // Yellow when time is medium
+            timerBar.setStyle("-fx-accent: #f39c12; -fx-pref-height: 10px;");
+            timerLabel.setStyle("-fx-text-fill: #f39c12; -fx-font-weight: bold;");
+        } else {
+            // Green when plenty of time remains
+            timerBar.setStyle("-fx-accent: #2ecc71; -fx-pref-height: 10px;");
+            timerLabel.setStyle("-fx-text-fill: #2ecc71; -fx-font-weight: bold;");
+        }
     }
 
     /**
@@ -233,10 +300,10 @@ public class QuestionScreen {
      * @param currentQuestion The current question number (1-based)
      */
     public void updateQuestionProgress(int currentQuestion) {
-        Platform.runLater(() -> {
-            questionProgressLabel.setText("Q" + currentQuestion + "/" + totalQuestions);
-            questionProgressLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14px; -fx-font-weight: bold;");
-        });
+        assert Platform.isFxApplicationThread();
+        if (questionProgressLabel == null) return;
+        questionProgressLabel.setText("Q" + currentQuestion + "/" + totalQuestions);
+        questionProgressLabel.setStyle("-fx-text-fill: white; -fx-font-size: 14px; -fx-font-weight: bold;");
     }
 
     /**
@@ -261,11 +328,11 @@ public class QuestionScreen {
      * Closes the question screen.
      */
     public void close() {
+        assert Platform.isFxApplicationThread();
+        stopCountdown();
         if (stage != null) {
-            Platform.runLater(() -> {
-                stage.close();
-                stage = null;
-            });
+            stage.close();
+            stage = null;
         }
     }
 
@@ -275,8 +342,8 @@ public class QuestionScreen {
      * @param current The current question number
      */
     public void updateQuestionNumber(int current) {
-        Platform.runLater(() -> {
-            questionProgressLabel.setText(current + "/" + totalQuestions);
-        });
+        assert Platform.isFxApplicationThread();
+        if (questionProgressLabel == null) return;
+        questionProgressLabel.setText(current + "/" + totalQuestions);
     }
 }
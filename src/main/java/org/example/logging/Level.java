@@ -0,0 +1,29 @@
+package org.example.logging;
+
+import java.util.Locale;
+
+/**
+ * The Level enum orders log entries by severity, from DEBUG up to ERROR.
+ */
+public enum Level {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR;
+
+    /**
+     * Parses a level name in any case.
+     *
+     * @param name     the level's name, or null
+     * @param fallback returned when the name is missing or unknown
+     * @return the level
+     */
+    public static Level parse(String name, Level fallback) {
+        if (name == null || name.isBlank()) return fallback;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package org.example.logging;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The Log class is a logger for one category, such as "room" or "client". Logging an
+ * entry costs a level check, an optional sampling draw and a lock-free enqueue of the
+ * template and its arguments into a shared {@link LogRing}; a background thread formats
+ * the entry and writes it to a rolling file. Arguments are formatted later on that
+ * thread, so pass values that will not change, such as strings and numbers. An exception
+ * passed as the last argument, with no {} for it, is written with its stack trace.
+ *
+ * Configuration is read from system properties when a category is first used:
+ * - {@code trivia.log.level} the lowest level written (default INFO), and
+ *   {@code trivia.log.level.<category>} to override it for one category
+ * - {@code trivia.log.sample.<category>} keep only about 1 in N entries below WARN for
+ *   that category, for chatty categories on busy servers
+ * - {@code trivia.log.file} the log file (default logs/&lt;application&gt;.log, see {@link #init}),
+ *   {@code trivia.log.maxBytes} when it rolls over (10 MB) and {@code trivia.log.files}
+ *   how many rolled files are kept (5)
+ *
+ * Warnings and errors are copied to standard error as well.
+ */
+public final class Log {
+    private static final Map<String, Log> LOGGERS = new ConcurrentHashMap<>();
+    private static final Level DEFAULT_LEVEL = Level.parse(System.getProperty("trivia.log.level"), Level.INFO);
+    private static volatile String application = "trivia";
+
+    private final String category;
+    private final Level threshold;
+    // 1 keeps every entry; N keeps about one in N below WARN
+    private final int sampleEvery;
+
+    private Log(String category) {
+        this.category = category;
+        this.threshold = Level.parse(System.getProperty("trivia.log.level." + category), DEFAULT_LEVEL);
+        this.sampleEvery = Math.max(1, Integer.getInteger("trivia.log.sample." + category, 1));
+    }
+
+    /**
+     * Names the application, which names the default log file. Call it at startup,
+     * before anything is logged; later calls have no effect on the file in use.
+     *
+     * @param name the application's name, such as "server" or "client"
+     */
+    public static void init(String name) {
+        application = name;
+    }
+
+    /**
+     * Returns the logger of a category.
+     *
+     * @param category the category
+     * @return the logger, shared by everyone using the category
+     */
+    public static Log get(String category) {
+        return LOGGERS.computeIfAbsent(category, Log::new);
+    }
+
+    /**
+     * Indicates whether entries of a level are written for this category.
+     *
+     * @param level the level
+     * @return true if it is at or above the category's threshold
+     */
+    public boolean isEnabled(Level level) {
+        return level.compareTo(threshold) >= 0;
+    }
+
+    /**
+     * Logs a debug message.
+     *
+     * @param message the message
+     */
+    public void debug(String message) {
+        log(Level.DEBUG, message, null, null);
+    }
+
+    /**
+     * Logs a debug message with one argument.
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void debug(String template, Object arg) {
+        log(Level.DEBUG, template, arg, null);
+    }
+
+    /**
+     * Logs a debug message with two arguments.
+     *
+     * @param template the message, with {} where each argument goes
+     * @param arg1     the first argument
+     * @param arg2     the second argument
+     */
+    public void debug(String template, Object arg1, Object arg2) {
+        log(Level.DEBUG, template, arg1, arg2);
+    }
+
+    /**
+     * Logs an informational message.
+     *
+     * @param message the message
+     */
+    public void info(String message) {
+        log(Level.INFO, message, null, null);
+    }
+
+    /**
+     * Logs an informational message with one argument.
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void info(String template, Object arg) {
+        log(Level.INFO, template, arg, null);
+    }
+
+    /**
+     * Logs an informational message with two arguments.
+     *
+     * @param template the message, with {} where each argument goes
+     * @param arg1     the first argument
+     * @param arg2     the second argument
+     */
+    public void info(String template, Object arg1, Object arg2) {
+        log(Level.INFO, template, arg1, arg2);
+    }
+
+    /**
+     * Logs a warning.
+     *
+     * @param message the message
+     */
+    public void warn(String message) {
+        log(Level.WARN, message, null, null);
+    }
+
+    /**
+     * Logs a warning with one argument.
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void warn(String template, Object arg) {
+        log(Level.WARN, template, arg, null);
+    }
+
+    /**
+     * Logs a warning with two arguments.
+     *
+     * @param template the message, with {} where each argument goes
+     * @param arg1     the first argument
+     * @param arg2     the second argument
+     */
+    public void warn(String template, Object arg1, Object arg2) {
+        log(Level.WARN, template, arg1, arg2);
+    }
+
+    /**
+     * Logs an error.
+     *
+     * @param message the message
+     */
+    public void error(String message) {
+        log(Level.ERROR, message, null, null);
+    }
+
+    /**
+     * Logs an error with one argument.
+     *
+     * @param template the message, with {} where the argument goes
+     * @param arg      the argument
+     */
+    public void error(String template, Object arg) {
+        log(Level.ERROR, template, arg, null);
+    }
+
+    /**
+     * Logs an error with two arguments.
+     *
+     * @param template the message, with {} where each argument goes
+     * @param arg1     the first argument
+     * @param arg2     the second argument
+     */
+    public void error(String template, Object arg1, Object arg2) {
+        log(Level.ERROR, template, arg1, arg2);
+    }
+
+    private void log(Level level, String template, Object arg1, Object arg2) {
+        if (!isEnabled(level)) return;
+        if (sampleEvery > 1 && level.compareTo(Level.WARN) < 0
+                && ThreadLocalRandom.current().nextInt(sampleEvery) != 0) {
+            return;
+        }
+        LogRing ring = Ring.INSTANCE;
+        if (ring != null) {
+            ring.offer(level, category, template, arg1, arg2);
+        } else if (level.compareTo(Level.WARN) >= 0) {
+            // No log file; problems still reach the console
+            StringBuilder line = new StringBuilder(level + " " + category + " - ");
+            LogRing.appendMessage(line, template, arg1, arg2);
+            System.err.println(line);
+        }
+    }
+
+    /**
+     * Starts the ring on first use, once the application has had a chance to name the file.
+     */
+    private static final class Ring {
+        static final LogRing INSTANCE = LogRing.start(Path.of(
+                System.getProperty("trivia.log.file", "logs/" + application + ".log")));
+    }
+}
@@ -0,0 +1,227 @@
+package org.example.logging;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The LogRing class is the buffer between the threads that log and the file. It is a
+ * bounded ring of preallocated entries: a logging thread claims the next slot with one
+ * compare-and-set, copies in the time, level, template and argument references, and
+ * publishes the slot by bumping its sequence number. Nothing is formatted, allocated,
+ * locked or written on that thread. When the ring is full the entry is dropped and
+ * counted rather than making the caller wait.
+ *
+ * A single daemon thread drains the ring in order, formats each entry, appends it to a
+ * {@link RollingFile} and copies warnings and errors to standard error. It flushes the
+ * file whenever it catches up, and once more when the JVM exits.
+ */
+final class LogRing {
+    // Slots in the ring; a power of two
+    private static final int CAPACITY = Integer.highestOneBit(Math.max(64, Integer.getInteger("trivia.log.bufferSize", 8192)));
+    private static final long MAX_FILE_BYTES = Long.getLong("trivia.log.maxBytes", 10L * 1024 * 1024);
+    private static final int KEPT_FILES = Math.max(0, Integer.getInteger("trivia.log.files", 5));
+    // How long the writer sleeps when the ring is empty
+    private static final long IDLE_PARK_NANOS = 2_000_000;
+
+    private final Entry[] slots = new Entry[CAPACITY];
+    private final int mask = CAPACITY - 1;
+    // Next sequence a producer will claim
+    private final AtomicLong tail = new AtomicLong();
+    // Next sequence the writer will read; writer thread only
+    private long head;
+    private final LongAdder dropped = new LongAdder();
+    private long droppedReported;
+    private final RollingFile file;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private LogRing(RollingFile file) {
+        for (int i = 0; i < CAPACITY; i++) {
+            slots[i] = new Entry(i);
+        }
+        this.file = file;
+        this.writer = new Thread(this::writeLoop, "log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    /**
+     * Opens the log file and starts the writer thread.
+     *
+     * @param path the live log file
+     * @return the running ring, or null if the file cannot be opened
+     */
+    static LogRing start(Path path) {
+        RollingFile file;
+        try {
+            file = new RollingFile(path, MAX_FILE_BYTES, KEPT_FILES);
+        } catch (IOException e) {
+            System.err.println("Could not open log file " + path + ": " + e.getMessage());
+            return null;
+        }
+        LogRing ring = new LogRing(file);
+        ring.writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(ring::stop, "log-shutdown"));
+        return ring;
+    }
+
+    /**
+     * Enqueues one entry without blocking.
+     *
+     * @param level    the entry's level
+     * @param category the logger's category
+     * @param template the message, with {} where each argument goes
+     * @param arg1     first argument, or null
+     * @param arg2     second argument, or null
+     * @return false if the ring was full and the entry was dropped
+     */
+    boolean offer(Level level, String category, String template, Object arg1, Object arg2) {
+        long sequence = tail.get();
+        Entry entry;
+        while (true) {
+            entry = slots[(int) (sequence & mask)];
+            long published = entry.sequence;
+            if (published == sequence) {
+                // The slot is free for this sequence; claim it
+                if (tail.compareAndSet(sequence, sequence + 1)) break;
+                sequence = tail.get();
+            } else if (published < sequence) {
+                // The writer has not freed the slot from the previous lap: full
+                dropped.increment();
+                return false;
+            } else {
+                // Another producer took this sequence
+                sequence = tail.get();
+            }
+        }
+        entry.timeMillis = System.currentTimeMillis();
+        entry.thread = Thread.currentThread().getName();
+        entry.level = level;
+        entry.category = category;
+        entry.template = template;
+        entry.arg1 = arg1;
+        entry.arg2 = arg2;
+        // Publish: the writer reads the fields only after seeing this
+        entry.sequence = sequence + 1;
+        return true;
+    }
+
+    // Stops the writer after it has written everything already enqueued
+    private void stop() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Writer thread: drain, flush when caught up, sleep while idle
+    private void writeLoop() {
+        try {
+            while (running) {
+                if (drain() == 0) {
+                    file.flush();
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+            }
+            drain();
+            file.close();
+        } catch (IOException e) {
+            System.err.println("Log writer stopped: " + e.getMessage());
+        }
+    }
+
+    // Writes every published entry in order and frees its slot; returns how many were written
+    private int drain() throws IOException {
+        int count = 0;
+        while (true) {
+            Entry entry = slots[(int) (head & mask)];
+            if (entry.sequence != head + 1) break;
+            String line = format(entry);
+            Level level = entry.level;
+            entry.clear();
+            // Free the slot for the producer one lap ahead
+            entry.sequence = head + CAPACITY;
+            head++;
+            count++;
+            file.write(line);
+            if (level.compareTo(Level.WARN) >= 0) {
+                System.err.println(line);
+            }
+        }
+        long droppedNow = dropped.sum();
+        if (droppedNow != droppedReported) {
+            file.write(Instant.ofEpochMilli(System.currentTimeMillis()) + " WARN  [log-writer] log - "
+                    + (droppedNow - droppedReported) + " entries dropped because the log buffer was full");
+            droppedReported = droppedNow;
+        }
+        return count;
+    }
+
+    // "time LEVEL [thread] category - message"
+    private static String format(Entry entry) {
+        StringBuilder line = new StringBuilder(128);
+        line.append(Instant.ofEpochMilli(entry.timeMillis)).append(' ');
+        line.append(entry.level);
+        for (int pad = entry.level.name().length(); pad < 5; pad++) {
+            line.append(' ');
+        }
+        line.append(" [").append(entry.thread).append("] ").append(entry.category).append(" - ");
+        appendMessage(line, entry.template, entry.arg1, entry.arg2);
+        return line.toString();
+    }
+
+    // Replaces the first two {} in the template with the arguments; an exception with
+    // no {} left for it is written after the message with its stack trace
+    static void appendMessage(StringBuilder out, String template, Object arg1, Object arg2) {
+        int from = 0;
+        int used = 0;
+        int at;
+        while (used < 2 && (at = template.indexOf("{}", from)) >= 0) {
+            out.append(template, from, at).append(used == 0 ? arg1 : arg2);
+            from = at + 2;
+            used++;
+        }
+        out.append(template, from, template.length());
+        Object unused = used == 0 ? (arg2 != null ? arg2 : arg1) : used == 1 ? arg2 : null;
+        if (unused instanceof Throwable thrown) {
+            StringWriter trace = new StringWriter();
+            thrown.printStackTrace(new PrintWriter(trace));
+            out.append(System.lineSeparator()).append(trace.toString().stripTrailing());
+        }
+    }
+
+    /**
+     * One slot of the ring. Its sequence says whose turn it is: equal to a producer's
+     * claimed sequence when free, one more than that once filled.
+     */
+    private static final class Entry {
+        private volatile long sequence;
+        private long timeMillis;
+        private String thread;
+        private Level level;
+        private String category;
+        private String template;
+        private Object arg1;
+        private Object arg2;
+
+        private Entry(long sequence) {
+            this.sequence = sequence;
+        }
+
+        // Drops the references so logged objects are not kept alive by the ring
+        private void clear() {
+            thread = null;
+            template = null;
+            arg1 = null;
+            arg2 = null;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.logging;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * The RollingFile class appends lines to a log file and rolls it over once it passes a
+ * size limit: the full file becomes name.1, the previous name.1 becomes name.2, and so on,
+ * with the oldest beyond the kept count deleted. It is used by a single thread.
+ */
+final class RollingFile implements Closeable {
+    private final Path path;
+    private final long maxBytes;
+    private final int keep;
+    private OutputStream out;
+    private long size;
+
+    /**
+     * Opens the file for appending, creating it and its directory if needed.
+     *
+     * @param path     the live log file
+     * @param maxBytes size at which the file is rolled over
+     * @param keep     number of rolled files to keep
+     * @throws IOException if the file cannot be opened
+     */
+    RollingFile(Path path, long maxBytes, int keep) throws IOException {
+        this.path = path;
+        this.maxBytes = maxBytes;
+        this.keep = keep;
+        open();
+    }
+
+    /**
+     * Appends one line, rolling the file over first if the line would not fit.
+     *
+     * @param line the line, without its line break
+     * @throws IOException if writing fails
+     */
+    void write(String line) throws IOException {
+        byte[] bytes = (line + '\n').getBytes(StandardCharsets.UTF_8);
+        if (size > 0 && size + bytes.length > maxBytes) {
+            roll();
+        }
+        out.write(bytes);
+        size += bytes.length;
+    }
+
+    /**
+     * Pushes buffered lines to the file.
+     *
+     * @throws IOException if writing fails
+     */
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void open() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        out = new BufferedOutputStream(Files.newOutputStream(path,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        size = Files.size(path);
+    }
+
+    // Shifts name.1 .. name.(keep-1) up by one, moves the live file to name.1 and starts afresh
+    private void roll() throws IOException {
+        out.close();
+        Files.deleteIfExists(rolled(keep));
+        for (int i = keep - 1; i >= 1; i--) {
+            if (Files.exists(rolled(i))) {
+                Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (keep > 0) {
+            Files.move(path, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(path);
+        }
+        open();
+    }
+
+    private Path rolled(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.metrics;
+
+/**
+ * The HistogramMXBean interface is the JMX view of one {@link LatencyHistogram}:
+ * its count and its main percentiles, in milliseconds.
+ */
+public interface HistogramMXBean {
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the count
+     */
+    long getCount();
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean in milliseconds
+     */
+    double getMeanMillis();
+
+    /**
+     * Returns the median.
+     *
+     * @return the 50th percentile in milliseconds
+     */
+    double getP50Millis();
+
+    /**
+     * Returns the 90th percentile.
+     *
+     * @return the 90th percentile in milliseconds
+     */
+    double getP90Millis();
+
+    /**
+     * Returns the 99th percentile.
+     *
+     * @return the 99th percentile in milliseconds
+     */
+    double getP99Millis();
+
+    /**
+     * Returns the 99.9th percentile.
+     *
+     * @return the 99.9th percentile in milliseconds
+     */
+    double getP999Millis();
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the maximum in milliseconds
+     */
+    double getMaxMillis();
+}
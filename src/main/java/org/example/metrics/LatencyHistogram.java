@@ -0,0 +1,163 @@
+package org.example.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The LatencyHistogram class records durations in nanoseconds into log-linear buckets,
+ * in the manner of an HDR histogram: each power of two is split into 64 equal sub-buckets,
+ * so any recorded value is reproduced to within 1.6% from one nanosecond up to the
+ * largest long, in a fixed 30 KB table.
+ *
+ * Recording is lock-free (one atomic increment of a bucket, plus a striped count and
+ * sum), so many threads can record into one histogram without contending on a lock.
+ * Percentiles are read from the live counts; a read taken while others record is
+ * approximate only in that it may miss the very latest values.
+ */
+public final class LatencyHistogram {
+    // Sub-buckets per power of two is 2^(SUB_BUCKET_BITS - 1); values below 2^SUB_BUCKET_BITS are exact
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+    private static final int BUCKETS = indexOf(Long.MAX_VALUE) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one duration. Negative values are recorded as zero.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Adds every value recorded in another histogram to this one.
+     *
+     * @param other the histogram to add
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long n = other.counts.get(i);
+            if (n != 0) counts.addAndGet(i, n);
+        }
+        count.add(other.count.sum());
+        sum.add(other.sum.sum());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return the count
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the largest value recorded.
+     *
+     * @return the maximum in nanoseconds, or 0 if nothing was recorded
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean in nanoseconds, or 0 if nothing was recorded
+     */
+    public double mean() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return the total in nanoseconds
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the value below which the given share of recorded values fall.
+     *
+     * @param percentile from 0 to 100
+     * @return the highest value equivalent to that percentile's bucket, in nanoseconds;
+     *         0 if nothing was recorded
+     */
+    public long valueAtPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueAt(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Returns how many recorded values fall at or below a bound. Used to export the
+     * histogram as cumulative buckets.
+     *
+     * @param nanos the upper bound in nanoseconds
+     * @return the number of values whose bucket lies entirely at or below the bound
+     */
+    public long countAtOrBelow(long nanos) {
+        long seen = 0;
+        for (int i = 0; i < BUCKETS && highestValueAt(i) <= nanos; i++) {
+            seen += counts.get(i);
+        }
+        return seen;
+    }
+
+    /**
+     * Summarises the histogram in milliseconds: count, p50, p90, p99, p99.9 and max.
+     *
+     * @return the summary line
+     */
+    public String summary() {
+        return String.format("n=%d p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms",
+                count(), valueAtPercentile(50) / 1e6, valueAtPercentile(90) / 1e6,
+                valueAtPercentile(99) / 1e6, valueAtPercentile(99.9) / 1e6, max() / 1e6);
+    }
+
+    // Bucket of a non-negative value
+    private static int indexOf(long value) {
+        if (value < (1L << SUB_BUCKET_BITS)) {
+            return (int) value;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    // Largest value that lands in a bucket
+    private static long highestValueAt(int index) {
+        if (index < (1 << SUB_BUCKET_BITS)) {
+            return index;
+        }
+        int shift = index / HALF_SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * HALF_SUB_BUCKETS;
+        long next = (subBucket + 1) << shift;
+        // The top bucket ends at Long.MAX_VALUE
+        return next <= 0 ? Long.MAX_VALUE : next - 1;
+    }
+}
@@ -0,0 +1,328 @@
+package org.example.metrics;
+
+import com.sun.net.httpserver.HttpServer;
+import org.example.logging.Log;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The ServerMetrics class holds the server's instrumentation: counters for connections,
+ * rooms, messages and bytes, and {@link LatencyHistogram}s for broadcast fan-out time,
+ * answer-to-result latency and how late the question timer's ticks fire.
+ *
+ * Recording is what the hot paths pay for, so it never takes a lock: counters are striped
+ * {@link LongAdder}s and the histograms increment one atomic bucket. Everything is read
+ * only when someone looks, through JMX (the {@code org.example} domain in JConsole or
+ * VisualVM) or as Prometheus text at {@code http://127.0.0.1:<port>/metrics}. The port is
+ * read from {@code trivia.metrics.port} (default 9400; 0 turns the endpoint off).
+ *
+ * There is one instance per process, like the question bank, so handlers, rooms and
+ * timers record into it without it being handed through every constructor.
+ */
+public final class ServerMetrics implements ServerMetricsMXBean {
+    /**
+     * System property naming the port of the Prometheus endpoint.
+     */
+    public static final String PORT_PROPERTY = "trivia.metrics.port";
+    /**
+     * Port of the Prometheus endpoint unless the property says otherwise.
+     */
+    public static final int DEFAULT_PORT = 9400;
+
+    private static final ServerMetrics INSTANCE = new ServerMetrics();
+    private static final String JMX_DOMAIN = "org.example";
+    private static final Log LOG = Log.get("metrics");
+    // Upper bounds of the exported histogram buckets, from 10 microseconds to 10 seconds
+    private static final long[] BUCKET_BOUNDS_NANOS = {
+            10_000, 50_000, 100_000, 250_000, 500_000,
+            1_000_000, 2_500_000, 5_000_000, 10_000_000, 25_000_000, 50_000_000,
+            100_000_000, 250_000_000, 500_000_000,
+            1_000_000_000, 2_500_000_000L, 5_000_000_000L, 10_000_000_000L};
+
+    private final LongAdder activeConnections = new LongAdder();
+    private final LongAdder activeRooms = new LongAdder();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LatencyHistogram broadcastFanout = new LatencyHistogram();
+    private final LatencyHistogram answerToResult = new LatencyHistogram();
+    private final LatencyHistogram timerTickJitter = new LatencyHistogram();
+    // Set once the beans are registered and the endpoint has been started
+    private boolean exposed;
+
+    private ServerMetrics() {
+    }
+
+    /**
+     * Returns the process-wide metrics.
+     *
+     * @return the instance every component records into
+     */
+    public static ServerMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a client connecting.
+     */
+    public void connectionOpened() {
+        activeConnections.increment();
+    }
+
+    /**
+     * Records a client disconnecting.
+     */
+    public void connectionClosed() {
+        activeConnections.decrement();
+    }
+
+    /**
+     * Records a room being created.
+     */
+    public void roomOpened() {
+        activeRooms.increment();
+    }
+
+    /**
+     * Records a room being evicted.
+     */
+    public void roomClosed() {
+        activeRooms.decrement();
+    }
+
+    /**
+     * Records one command received from a client.
+     */
+    public void messageIn() {
+        messagesIn.increment();
+    }
+
+    /**
+     * Records one message queued for a client.
+     */
+    public void messageOut() {
+        messagesOut.increment();
+    }
+
+    /**
+     * Records bytes written to a client socket.
+     *
+     * @param bytes how many were written
+     */
+    public void bytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    /**
+     * Records how long a broadcast took to reach every player's queue.
+     *
+     * @param nanos the fan-out time
+     */
+    public void broadcastFanout(long nanos) {
+        broadcastFanout.record(nanos);
+    }
+
+    /**
+     * Records the time from an answer arriving to its result being queued for the player.
+     *
+     * @param nanos the latency
+     */
+    public void answerToResult(long nanos) {
+        answerToResult.record(nanos);
+    }
+
+    /**
+     * Records how late a timer tick ran after its scheduled time.
+     *
+     * @param nanos the lateness
+     */
+    public void timerTickJitter(long nanos) {
+        timerTickJitter.record(nanos);
+    }
+
+    @Override
+    public long getActiveConnections() {
+        return activeConnections.sum();
+    }
+
+    @Override
+    public long getActiveRooms() {
+        return activeRooms.sum();
+    }
+
+    @Override
+    public long getMessagesIn() {
+        return messagesIn.sum();
+    }
+
+    @Override
+    public long getMessagesOut() {
+        return messagesOut.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    /**
+     * Registers the JMX beans and starts the Prometheus endpoint on the port named by
+     * {@code trivia.metrics.port}. Later calls do nothing. A port that cannot be bound is
+     * reported and skipped, so a second server on the same host still starts.
+     */
+    public synchronized void expose() {
+        if (exposed) return;
+        exposed = true;
+        registerBeans();
+        int port = Integer.getInteger(PORT_PROPERTY, DEFAULT_PORT);
+        if (port > 0) {
+            startEndpoint(port);
+        }
+    }
+
+    // Registers the counters and one bean per histogram with the platform MBean server
+    private void registerBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, new ObjectName(JMX_DOMAIN + ":type=ServerMetrics"));
+            server.registerMBean(view(broadcastFanout), histogramName("broadcastFanout"));
+            server.registerMBean(view(answerToResult), histogramName("answerToResult"));
+            server.registerMBean(view(timerTickJitter), histogramName("timerTickJitter"));
+        } catch (JMException e) {
+            LOG.warn("Could not register metrics with JMX: {}", e.getMessage());
+        }
+    }
+
+    private static ObjectName histogramName(String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=ServerMetrics,histogram=" + name);
+    }
+
+    // Serves the Prometheus text on the loopback interface from one daemon thread
+    private void startEndpoint(int port) {
+        try {
+            HttpServer endpoint = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            endpoint.createContext("/metrics", exchange -> {
+                byte[] body = prometheusText().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            });
+            endpoint.setExecutor(Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "metrics-endpoint");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            endpoint.start();
+            LOG.info("Metrics available at http://127.0.0.1:{}/metrics", port);
+        } catch (IOException e) {
+            LOG.warn("Could not start the metrics endpoint on port {}: {}", port, e.getMessage());
+        }
+    }
+
+    /**
+     * Renders every metric in the Prometheus text exposition format. Histograms are
+     * exported as cumulative buckets in seconds.
+     *
+     * @return the exposition text
+     */
+    public String prometheusText() {
+        StringBuilder out = new StringBuilder(4096);
+        gauge(out, "trivia_connections_active", "Connected clients.", getActiveConnections());
+        gauge(out, "trivia_rooms_active", "Rooms that have not been evicted.", getActiveRooms());
+        counter(out, "trivia_messages_in_total", "Commands received from clients.", getMessagesIn());
+        counter(out, "trivia_messages_out_total", "Messages queued for clients.", getMessagesOut());
+        counter(out, "trivia_bytes_written_total", "Bytes written to client sockets.", getBytesWritten());
+        histogram(out, "trivia_broadcast_fanout_seconds",
+                "Time for a broadcast to reach every player's queue.", broadcastFanout);
+        histogram(out, "trivia_answer_result_seconds",
+                "Time from an answer arriving to its result being queued.", answerToResult);
+        histogram(out, "trivia_timer_tick_jitter_seconds",
+                "How late question timer ticks run.", timerTickJitter);
+        return out.toString();
+    }
+
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "gauge");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "counter");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static void histogram(StringBuilder out, String name, String help, LatencyHistogram histogram) {
+        header(out, name, help, "histogram");
+        // Read the count first so no bucket can exceed it while others record
+        long count = histogram.count();
+        for (long bound : BUCKET_BOUNDS_NANOS) {
+            out.append(name).append("_bucket{le=\"").append(seconds(bound)).append("\"} ")
+                    .append(Math.min(count, histogram.countAtOrBelow(bound))).append('\n');
+        }
+        out.append(name).append("_bucket{le=\"+Inf\"} ").append(count).append('\n');
+        out.append(name).append("_sum ").append(histogram.sum() / 1e9).append('\n');
+        out.append(name).append("_count ").append(count).append('\n');
+    }
+
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    // A bound in seconds, written without an exponent
+    private static String seconds(long nanos) {
+        return BigDecimal.valueOf(nanos, 9).stripTrailingZeros().toPlainString();
+    }
+
+    // Reads a histogram as its JMX bean
+    private static HistogramMXBean view(LatencyHistogram histogram) {
+        return new HistogramMXBean() {
+            @Override
+            public long getCount() {
+                return histogram.count();
+            }
+
+            @Override
+            public double getMeanMillis() {
+                return histogram.mean() / 1e6;
+            }
+
+            @Override
+            public double getP50Millis() {
+                return histogram.valueAtPercentile(50) / 1e6;
+            }
+
+            @Override
+            public double getP90Millis() {
+                return histogram.valueAtPercentile(90) / 1e6;
+            }
+
+            @Override
+            public double getP99Millis() {
+                return histogram.valueAtPercentile(99) / 1e6;
+            }
+
+            @Override
+            public double getP999Millis() {
+                return histogram.valueAtPercentile(99.9) / 1e6;
+            }
+
+            @Override
+            public double getMaxMillis() {
+                return histogram.max() / 1e6;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.metrics;
+
+/**
+ * The ServerMetricsMXBean interface is the JMX view of the server's counters. The
+ * latency histograms are registered next to it, one {@link HistogramMXBean} each.
+ */
+public interface ServerMetricsMXBean {
+    /**
+     * Returns the number of connected clients.
+     *
+     * @return open connections
+     */
+    long getActiveConnections();
+
+    /**
+     * Returns the number of rooms that have not been evicted.
+     *
+     * @return live rooms
+     */
+    long getActiveRooms();
+
+    /**
+     * Returns how many commands clients have sent, text lines and binary frames alike.
+     *
+     * @return messages received since the server started
+     */
+    long getMessagesIn();
+
+    /**
+     * Returns how many messages were queued for clients; a broadcast counts once per player.
+     *
+     * @return messages sent since the server started
+     */
+    long getMessagesOut();
+
+    /**
+     * Returns how many bytes were written to client sockets.
+     *
+     * @return bytes written since the server started
+     */
+    long getBytesWritten();
+}
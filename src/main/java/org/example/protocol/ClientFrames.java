@@ -0,0 +1,147 @@
+package org.example.protocol;
+
+import java.nio.ByteBuffer;
+
+/**
+ * The ClientFrames class encodes the frames a client sends and decodes them on the server.
+ * Encoders write into a buffer the caller reuses and decoding hands primitive fields
+ * straight to a listener, so an answer costs no allocation on either side.
+ */
+public final class ClientFrames {
+    private ClientFrames() {
+    }
+
+    /**
+     * Encodes the player's name, the first frame after switching to binary.
+     *
+     * @param out  the buffer to write to
+     * @param name the player's name
+     */
+    public static void hello(ByteBuffer out, String name) {
+        stringFrame(out, MessageType.HELLO, name);
+    }
+
+    /**
+     * Encodes a raw text command, for anything without a dedicated frame.
+     *
+     * @param out     the buffer to write to
+     * @param command the command line
+     */
+    public static void command(ByteBuffer out, String command) {
+        stringFrame(out, MessageType.COMMAND, command);
+    }
+
+    /**
+     * Encodes a request to create a room.
+     *
+     * @param out the buffer to write to
+     */
+    public static void create(ByteBuffer out) {
+        WireCodec.putHeader(out, MessageType.CREATE, 0);
+    }
+
+    /**
+     * Encodes a request to join a room.
+     *
+     * @param out  the buffer to write to
+     * @param code the room code
+     */
+    public static void join(ByteBuffer out, String code) {
+        stringFrame(out, MessageType.JOIN, code);
+    }
+
+    /**
+     * Encodes the host's request to start the game.
+     *
+     * @param out the buffer to write to
+     */
+    public static void start(ByteBuffer out) {
+        WireCodec.putHeader(out, MessageType.START, 0);
+    }
+
+    /**
+     * Encodes the host's request to move to the next question.
+     *
+     * @param out the buffer to write to
+     */
+    public static void next(ByteBuffer out) {
+        WireCodec.putHeader(out, MessageType.NEXT, 0);
+    }
+
+    /**
+     * Encodes an answer.
+     *
+     * @param out   the buffer to write to
+     * @param index the chosen option, 0 for A up to 3 for D
+     */
+    public static void answer(ByteBuffer out, int index) {
+        WireCodec.putHeader(out, MessageType.ANSWER, 1);
+        out.put((byte) index);
+    }
+
+    /**
+     * Encodes a clock probe.
+     *
+     * @param out        the buffer to write to
+     * @param clientTime the client's clock when sending, in epoch milliseconds
+     */
+    public static void ping(ByteBuffer out, long clientTime) {
+        WireCodec.putHeader(out, MessageType.PING, WireCodec.varLongSize(clientTime));
+        WireCodec.putVarLong(out, clientTime);
+    }
+
+    private static void stringFrame(ByteBuffer out, MessageType type, String value) {
+        WireCodec.putHeader(out, type, WireCodec.stringSize(value));
+        WireCodec.putString(out, value);
+    }
+
+    /**
+     * Decodes one complete frame and hands its fields to the listener.
+     * Frames of an unknown type are skipped.
+     *
+     * @param frame    a buffer positioned at the frame's first byte; it is consumed
+     *                 up to the end of the frame
+     * @param listener receives the decoded command
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    public static void decode(ByteBuffer frame, Listener listener) {
+        MessageType type = MessageType.fromId(frame.get());
+        int length = WireCodec.getVarInt(frame);
+        int end = frame.position() + length;
+        if (type != null) {
+            switch (type) {
+                case HELLO -> listener.onHello(WireCodec.getString(frame));
+                case COMMAND -> listener.onCommand(WireCodec.getString(frame));
+                case CREATE -> listener.onCreate();
+                case JOIN -> listener.onJoin(WireCodec.getString(frame));
+                case START -> listener.onStart();
+                case NEXT -> listener.onNext();
+                case ANSWER -> listener.onAnswer(frame.get());
+                case PING -> listener.onPing(WireCodec.getVarLong(frame));
+                default -> { }
+            }
+        }
+        frame.position(end);
+    }
+
+    /**
+     * Receives decoded client frames.
+     */
+    public interface Listener {
+        void onHello(String name);
+
+        void onCommand(String command);
+
+        void onCreate();
+
+        void onJoin(String code);
+
+        void onStart();
+
+        void onNext();
+
+        void onAnswer(int index);
+
+        void onPing(long clientTime);
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.protocol;
+
+/**
+ * The MessageType enum lists the frame types of the binary protocol. Each frame starts
+ * with its type's one-byte id, followed by a varint payload length and the payload.
+ */
+public enum MessageType {
+    // Server to client
+    /** Free-form text line for the player. */
+    TEXT(1),
+    /** The player joined a room: room code. */
+    JOIN_SUCCESS(2),
+    /** The player could not join: reason. */
+    JOIN_ERROR(3),
+    /** The player created a room: room code. */
+    ROOM_CODE(4),
+    /** Everyone in the room: count, then names. */
+    PLAYER_LIST(5),
+    /** The host started the game. */
+    GAME_STARTED(6),
+    /** A new question: number, total, text, four options, time limit, deadline (server epoch ms). */
+    QUESTION(7),
+    /** Result of the player's answer: correct flag, score, correct answer. */
+    ANSWER_RESULT(8),
+    /** Full score snapshot: count, then id/name/score triples. */
+    SCORES(9),
+    /** Final scores, highest first: count, then id/name/score triples. */
+    FINAL_SCORES(10),
+    /** The question's time ran out. */
+    TIME_UP(12),
+    /** Scores changed since the last snapshot or delta: count, then id/score pairs. */
+    SCORE_DELTA(13),
+    /** Answer to a PING: the client's send time, then the server's clock (both epoch ms). */
+    PONG(14),
+    /** Every player answered, so the question closed before its time ran out. */
+    ALL_ANSWERED(15),
+
+    // Client to server
+    /** The player's name; the first frame after switching to binary. */
+    HELLO(64),
+    /** A raw text command, for anything without a dedicated frame. */
+    COMMAND(65),
+    /** Create a room. */
+    CREATE(66),
+    /** Join a room: room code. */
+    JOIN(67),
+    /** Start the game (host only). */
+    START(68),
+    /** Move to the next question (host only). */
+    NEXT(69),
+    /** Answer the current question: option index 0-3. */
+    ANSWER(70),
+    /** Clock probe: the client's send time (epoch ms). */
+    PING(71);
+
+    private static final MessageType[] BY_ID = new MessageType[128];
+
+    static {
+        for (MessageType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final byte id;
+
+    MessageType(int id) {
+        this.id = (byte) id;
+    }
+
+    /**
+     * Returns the byte that identifies this type on the wire.
+     *
+     * @return the type id
+     */
+    public byte id() {
+        return id;
+    }
+
+    /**
+     * Looks up a type by its wire id without allocating.
+     *
+     * @param id the type id read from a frame
+     * @return the matching type, or null if the id is unknown
+     */
+    public static MessageType fromId(int id) {
+        return id >= 0 && id < BY_ID.length ? BY_ID[id] : null;
+    }
+}
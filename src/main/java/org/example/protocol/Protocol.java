@@ -0,0 +1,46 @@
+package org.example.protocol;
+
+/**
+ * The Protocol class holds the constants both sides use to negotiate the wire protocol.
+ *
+ * Every connection starts in the newline text protocol. A client that wants binary
+ * frames sends {@link #BINARY_REQUEST} instead of its name; the server answers with
+ * {@link #BINARY_ACCEPTED} and from then on both directions use binary frames, starting
+ * with the client's HELLO frame. A server that does not speak the requested version
+ * answers with a line starting {@link #REFUSED_PREFIX} and stays on text; the client then
+ * sends its name as a text line. Either way the client sends nothing else until the answer
+ * arrives. Legacy clients simply send their name and stay on text.
+ */
+public final class Protocol {
+    /**
+     * Version of the binary framing spoken by this build.
+     */
+    public static final int BINARY_VERSION = 1;
+    /**
+     * Text line a client sends to ask for binary frames.
+     */
+    public static final String BINARY_REQUEST = "PROTO:binary/" + BINARY_VERSION;
+    /**
+     * Text line the server answers with before switching to binary frames.
+     */
+    public static final String BINARY_ACCEPTED = "PROTO_OK:binary/" + BINARY_VERSION;
+    /**
+     * Prefix of the text line the server answers with when it refuses a protocol request.
+     */
+    public static final String REFUSED_PREFIX = "PROTO_ERROR:";
+    /**
+     * Prefix of every protocol request, whatever version it asks for.
+     */
+    public static final String REQUEST_PREFIX = "PROTO:";
+    /**
+     * Largest payload the server accepts in a client frame.
+     */
+    public static final int MAX_CLIENT_PAYLOAD = 8 * 1024;
+    /**
+     * Largest payload the client accepts in a server frame.
+     */
+    public static final int MAX_SERVER_PAYLOAD = 4 * 1024 * 1024;
+
+    private Protocol() {
+    }
+}
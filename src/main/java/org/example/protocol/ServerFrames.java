@@ -0,0 +1,363 @@
+package org.example.protocol;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+
+/**
+ * The ServerFrames class encodes the frames the server sends and decodes them on the client.
+ * Each encoder sizes its payload first and fills one exactly sized buffer, so a broadcast
+ * costs a single allocation however many players receive it.
+ */
+public final class ServerFrames {
+    private ServerFrames() {
+    }
+
+    /**
+     * Encodes a free-form text line.
+     *
+     * @param text the line
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer text(String text) {
+        return stringFrame(MessageType.TEXT, text);
+    }
+
+    /**
+     * Encodes a successful join.
+     *
+     * @param code the room code
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer joinSuccess(String code) {
+        return stringFrame(MessageType.JOIN_SUCCESS, code);
+    }
+
+    /**
+     * Encodes a failed join.
+     *
+     * @param reason why the join failed
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer joinError(String reason) {
+        return stringFrame(MessageType.JOIN_ERROR, reason);
+    }
+
+    /**
+     * Encodes the code of a freshly created room.
+     *
+     * @param code the room code
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer roomCode(String code) {
+        return stringFrame(MessageType.ROOM_CODE, code);
+    }
+
+    /**
+     * Encodes the list of players in a room.
+     *
+     * @param names the player names, in join order
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer playerList(Collection<String> names) {
+        int length = WireCodec.varIntSize(names.size());
+        for (String name : names) {
+            length += WireCodec.stringSize(name);
+        }
+        ByteBuffer frame = WireCodec.allocateFrame(MessageType.PLAYER_LIST, length);
+        WireCodec.putVarInt(frame, names.size());
+        for (String name : names) {
+            WireCodec.putString(frame, name);
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the start of the game.
+     *
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer gameStarted() {
+        return WireCodec.allocateFrame(MessageType.GAME_STARTED, 0).flip();
+    }
+
+    /**
+     * Encodes a question. The correct answer is deliberately not part of the frame.
+     *
+     * @param number    the 1-based question number
+     * @param total     the number of questions in the game
+     * @param text      the question text
+     * @param options   the four answer options, A to D
+     * @param timeLimit seconds the players have to answer
+     * @param deadline  when answers close, in server epoch milliseconds
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer question(int number, int total, String text, String[] options,
+                                      int timeLimit, long deadline) {
+        return question(number, total, questionBody(text, options), timeLimit, deadline);
+    }
+
+    /**
+     * Encodes a question around a body from {@link #questionBody}, so the strings of a
+     * question asked many times are only encoded once.
+     *
+     * @param number    the 1-based question number
+     * @param total     the number of questions in the game
+     * @param body      the encoded text and options; read from its position to its limit
+     *                  without being consumed
+     * @param timeLimit seconds the players have to answer
+     * @param deadline  when answers close, in server epoch milliseconds
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer question(int number, int total, ByteBuffer body, int timeLimit, long deadline) {
+        int length = WireCodec.varIntSize(number) + WireCodec.varIntSize(total) + body.remaining()
+                + WireCodec.varIntSize(timeLimit) + WireCodec.varLongSize(deadline);
+        ByteBuffer frame = WireCodec.allocateFrame(MessageType.QUESTION, length);
+        WireCodec.putVarInt(frame, number);
+        WireCodec.putVarInt(frame, total);
+        frame.put(body.duplicate());
+        WireCodec.putVarInt(frame, timeLimit);
+        WireCodec.putVarLong(frame, deadline);
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the part of a question frame that does not change between games:
+     * the question text followed by the four options.
+     *
+     * @param text    the question text
+     * @param options the four answer options, A to D
+     * @return the encoded fields, ready to be read
+     */
+    public static ByteBuffer questionBody(String text, String[] options) {
+        int length = WireCodec.stringSize(text);
+        for (String option : options) {
+            length += WireCodec.stringSize(option);
+        }
+        ByteBuffer body = ByteBuffer.allocate(length);
+        WireCodec.putString(body, text);
+        for (String option : options) {
+            WireCodec.putString(body, option);
+        }
+        return body.flip();
+    }
+
+    /**
+     * Encodes the result of one player's answer.
+     *
+     * @param correct       whether the answer was right
+     * @param score         the player's score after the answer
+     * @param correctAnswer the correct answer's text
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer answerResult(boolean correct, int score, String correctAnswer) {
+        ByteBuffer frame = WireCodec.allocateFrame(MessageType.ANSWER_RESULT,
+                1 + WireCodec.varIntSize(score) + WireCodec.stringSize(correctAnswer));
+        frame.put((byte) (correct ? 1 : 0));
+        WireCodec.putVarInt(frame, score);
+        WireCodec.putString(frame, correctAnswer);
+        return frame.flip();
+    }
+
+    /**
+     * Encodes a score table. Ids are the room's dense player ids that later deltas refer to.
+     *
+     * @param type   {@link MessageType#SCORES} or {@link MessageType#FINAL_SCORES}
+     * @param ids    the player ids
+     * @param names  the player names
+     * @param scores the scores
+     * @param count  number of entries used from the arrays
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer scores(MessageType type, int[] ids, String[] names, int[] scores, int count) {
+        int length = WireCodec.varIntSize(count);
+        for (int i = 0; i < count; i++) {
+            length += WireCodec.varIntSize(ids[i]) + WireCodec.stringSize(names[i]) + WireCodec.varIntSize(scores[i]);
+        }
+        ByteBuffer frame = WireCodec.allocateFrame(type, length);
+        WireCodec.putVarInt(frame, count);
+        for (int i = 0; i < count; i++) {
+            WireCodec.putVarInt(frame, ids[i]);
+            WireCodec.putString(frame, names[i]);
+            WireCodec.putVarInt(frame, scores[i]);
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the scores that changed since the last snapshot or delta.
+     *
+     * @param ids    the ids of the players whose score changed
+     * @param scores their new scores
+     * @param count  number of entries used from the arrays
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer scoreDelta(int[] ids, int[] scores, int count) {
+        int length = WireCodec.varIntSize(count);
+        for (int i = 0; i < count; i++) {
+            length += WireCodec.varIntSize(ids[i]) + WireCodec.varIntSize(scores[i]);
+        }
+        ByteBuffer frame = WireCodec.allocateFrame(MessageType.SCORE_DELTA, length);
+        WireCodec.putVarInt(frame, count);
+        for (int i = 0; i < count; i++) {
+            WireCodec.putVarInt(frame, ids[i]);
+            WireCodec.putVarInt(frame, scores[i]);
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the answer to a clock probe.
+     *
+     * @param clientTime the client's send time echoed back
+     * @param serverTime the server's clock when it answered
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer pong(long clientTime, long serverTime) {
+        ByteBuffer frame = WireCodec.allocateFrame(MessageType.PONG,
+                WireCodec.varLongSize(clientTime) + WireCodec.varLongSize(serverTime));
+        WireCodec.putVarLong(frame, clientTime);
+        WireCodec.putVarLong(frame, serverTime);
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the end of a question's time.
+     *
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer timeUp() {
+        return WireCodec.allocateFrame(MessageType.TIME_UP, 0).flip();
+    }
+
+    /**
+     * Encodes the early close of a question that every player has answered.
+     *
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer allAnswered() {
+        return WireCodec.allocateFrame(MessageType.ALL_ANSWERED, 0).flip();
+    }
+
+    private static ByteBuffer stringFrame(MessageType type, String value) {
+        ByteBuffer frame = WireCodec.allocateFrame(type, WireCodec.stringSize(value));
+        WireCodec.putString(frame, value);
+        return frame.flip();
+    }
+
+    /**
+     * Decodes one complete frame and hands its fields to the listener.
+     * Frames of an unknown type are skipped, so newer servers can add types.
+     *
+     * @param frame    a buffer positioned at the frame's first byte; it is consumed
+     *                 up to the end of the frame
+     * @param listener receives the decoded message
+     * @throws IllegalArgumentException if the frame is malformed
+     */
+    public static void decode(ByteBuffer frame, Listener listener) {
+        MessageType type = MessageType.fromId(frame.get());
+        int length = WireCodec.getVarInt(frame);
+        int end = frame.position() + length;
+        if (type == null) {
+            frame.position(end);
+            return;
+        }
+        switch (type) {
+            case TEXT -> listener.onText(WireCodec.getString(frame));
+            case JOIN_SUCCESS -> listener.onJoinSuccess(WireCodec.getString(frame));
+            case JOIN_ERROR -> listener.onJoinError(WireCodec.getString(frame));
+            case ROOM_CODE -> listener.onRoomCode(WireCodec.getString(frame));
+            case PLAYER_LIST -> {
+                String[] names = new String[WireCodec.getVarInt(frame)];
+                for (int i = 0; i < names.length; i++) {
+                    names[i] = WireCodec.getString(frame);
+                }
+                listener.onPlayerList(names);
+            }
+            case GAME_STARTED -> listener.onGameStarted();
+            case QUESTION -> {
+                int number = WireCodec.getVarInt(frame);
+                int total = WireCodec.getVarInt(frame);
+                String text = WireCodec.getString(frame);
+                String[] options = new String[4];
+                for (int i = 0; i < options.length; i++) {
+                    options[i] = WireCodec.getString(frame);
+                }
+                int timeLimit = WireCodec.getVarInt(frame);
+                listener.onQuestion(number, total, text, options, timeLimit, WireCodec.getVarLong(frame));
+            }
+            case ANSWER_RESULT -> {
+                boolean correct = frame.get() != 0;
+                int score = WireCodec.getVarInt(frame);
+                listener.onAnswerResult(correct, score, WireCodec.getString(frame));
+            }
+            case SCORES, FINAL_SCORES -> {
+                int count = WireCodec.getVarInt(frame);
+                int[] ids = new int[count];
+                String[] names = new String[count];
+                int[] scores = new int[count];
+                for (int i = 0; i < count; i++) {
+                    ids[i] = WireCodec.getVarInt(frame);
+                    names[i] = WireCodec.getString(frame);
+                    scores[i] = WireCodec.getVarInt(frame);
+                }
+                if (type == MessageType.SCORES) {
+                    listener.onScores(ids, names, scores);
+                } else {
+                    listener.onFinalScores(ids, names, scores);
+                }
+            }
+            case SCORE_DELTA -> {
+                int count = WireCodec.getVarInt(frame);
+                int[] ids = new int[count];
+                int[] scores = new int[count];
+                for (int i = 0; i < count; i++) {
+                    ids[i] = WireCodec.getVarInt(frame);
+                    scores[i] = WireCodec.getVarInt(frame);
+                }
+                listener.onScoreDelta(ids, scores);
+            }
+            case TIME_UP -> listener.onTimeUp();
+            case ALL_ANSWERED -> listener.onAllAnswered();
+            case PONG -> {
+                long clientTime = WireCodec.getVarLong(frame);
+                listener.onPong(clientTime, WireCodec.getVarLong(frame));
+            }
+            default -> { }
+        }
+        // Skip fields a newer server appended to a known type
+        frame.position(end);
+    }
+
+    /**
+     * Receives decoded server frames. Every method defaults to ignoring the message.
+     */
+    public interface Listener {
+        default void onText(String text) { }
+
+        default void onJoinSuccess(String code) { }
+
+        default void onJoinError(String reason) { }
+
+        default void onRoomCode(String code) { }
+
+        default void onPlayerList(String[] names) { }
+
+        default void onGameStarted() { }
+
+        default void onQuestion(int number, int total, String text, String[] options, int timeLimit, long deadline) { }
+
+        default void onAnswerResult(boolean correct, int score, String correctAnswer) { }
+
+        default void onScores(int[] ids, String[] names, int[] scores) { }
+
+        default void onFinalScores(int[] ids, String[] names, int[] scores) { }
+
+        default void onScoreDelta(int[] ids, int[] scores) { }
+
+        default void onTimeUp() { }
+
+        default void onAllAnswered() { }
+
+        default void onPong(long clientTime, long serverTime) { }
+    }
+}
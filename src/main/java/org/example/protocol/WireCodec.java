@@ -0,0 +1,273 @@
+package org.example.protocol;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The WireCodec class holds the primitives of the binary protocol that both the server
+ * and the client build their frames from. A frame is laid out as:
+ *
+ *   [type: 1 byte][payload length: varint][payload]
+ *
+ * Numbers, including epoch-millisecond times, are unsigned varints (7 bits per byte, low
+ * bits first) and strings are a varint byte length followed by UTF-8, so a pipe or colon
+ * inside a question can never be mistaken for a separator. Every method works in place on a caller-supplied buffer and
+ * allocates nothing except the Strings it decodes.
+ */
+public final class WireCodec {
+    /**
+     * Most bytes an int varint can take.
+     */
+    public static final int MAX_VARINT_BYTES = 5;
+
+    private WireCodec() {
+    }
+
+    /**
+     * Returns how many bytes a value takes as a varint.
+     *
+     * @param value a non-negative value
+     * @return the encoded size in bytes
+     */
+    public static int varIntSize(int value) {
+        if (value < 0) return MAX_VARINT_BYTES;
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes a non-negative value as a varint.
+     *
+     * @param out   the buffer to write to
+     * @param value the value to write
+     */
+    public static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @param in the buffer to read from
+     * @return the decoded value
+     * @throws IllegalArgumentException if the varint is longer than five bytes
+     */
+    public static int getVarInt(ByteBuffer in) {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = in.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Returns how many bytes a value takes as a long varint.
+     *
+     * @param value a non-negative value
+     * @return the encoded size in bytes
+     */
+    public static int varLongSize(long value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) {
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * Writes a non-negative long, such as a wall-clock time in milliseconds, as a varint.
+     *
+     * @param out   the buffer to write to
+     * @param value the value to write
+     */
+    public static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a long varint.
+     *
+     * @param in the buffer to read from
+     * @return the decoded value
+     * @throws IllegalArgumentException if the varint is longer than ten bytes
+     */
+    public static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Returns the UTF-8 length of a string without encoding it.
+     *
+     * @param s the string
+     * @return its length in UTF-8 bytes
+     */
+    public static int utf8Length(String s) {
+        int length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                    && Character.isLowSurrogate(s.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Returns how many bytes a string field takes: its length prefix plus its UTF-8 bytes.
+     *
+     * @param s the string
+     * @return the encoded field size
+     */
+    public static int stringSize(String s) {
+        int length = utf8Length(s);
+        return varIntSize(length) + length;
+    }
+
+    /**
+     * Writes a string field, encoding UTF-8 straight into the buffer.
+     * An unpaired surrogate is written as three '?' bytes, the size utf8Length counted for it.
+     *
+     * @param out the buffer to write to
+     * @param s   the string to write
+     */
+    public static void putString(ByteBuffer out, String s) {
+        putVarInt(out, utf8Length(s));
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                        && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, s.charAt(++i));
+                    out.put((byte) (0xF0 | (codePoint >> 18)));
+                    out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                    out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                    out.put((byte) (0x80 | (codePoint & 0x3F)));
+                } else {
+                    out.put((byte) '?').put((byte) '?').put((byte) '?');
+                }
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    /**
+     * Reads a string field.
+     *
+     * @param in the buffer to read from
+     * @return the decoded string
+     * @throws IllegalArgumentException if the length runs past the end of the buffer
+     */
+    public static String getString(ByteBuffer in) {
+        int length = getVarInt(in);
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String runs past the end of the frame");
+        }
+        String s;
+        if (in.hasArray()) {
+            s = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return s;
+    }
+
+    /**
+     * Returns the total size of a frame with the given payload length.
+     *
+     * @param payloadLength the payload length
+     * @return header plus payload size
+     */
+    public static int frameSize(int payloadLength) {
+        return 1 + varIntSize(payloadLength) + payloadLength;
+    }
+
+    /**
+     * Writes a frame header. The caller writes exactly payloadLength bytes after it.
+     *
+     * @param out           the buffer to write to
+     * @param type          the frame type
+     * @param payloadLength the payload length
+     */
+    public static void putHeader(ByteBuffer out, MessageType type, int payloadLength) {
+        out.put(type.id());
+        putVarInt(out, payloadLength);
+    }
+
+    /**
+     * Allocates an exactly sized heap buffer for one frame and writes its header.
+     *
+     * @param type          the frame type
+     * @param payloadLength the payload length
+     * @return the buffer, positioned at the start of the payload
+     */
+    public static ByteBuffer allocateFrame(MessageType type, int payloadLength) {
+        ByteBuffer frame = ByteBuffer.allocate(frameSize(payloadLength));
+        putHeader(frame, type, payloadLength);
+        return frame;
+    }
+
+    /**
+     * Peeks at the frame starting at the buffer's position without consuming anything.
+     *
+     * @param in         the buffer holding received bytes
+     * @param maxPayload the largest payload the reader accepts
+     * @return the total size of the frame, or -1 if it has not been fully received yet
+     * @throws IllegalArgumentException if the header is malformed or the payload too large
+     */
+    public static int completeFrameLength(ByteBuffer in, int maxPayload) {
+        int start = in.position();
+        int limit = in.limit();
+        int length = 0;
+        int index = start + 1;
+        for (int shift = 0; ; shift += 7) {
+            if (index >= limit) return -1;
+            if (shift >= 35) throw new IllegalArgumentException("Malformed frame length");
+            byte b = in.get(index++);
+            length |= (b & 0x7F) << shift;
+            if (b >= 0) break;
+        }
+        if (length < 0 || length > maxPayload) {
+            throw new IllegalArgumentException("Frame too large: " + length);
+        }
+        int total = index - start + length;
+        return total <= limit - start ? total : -1;
+    }
+}
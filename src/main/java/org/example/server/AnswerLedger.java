@@ -0,0 +1,95 @@
+package org.example.server;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The AnswerLedger class records who has answered the open question of a room. Players
+ * are identified by their dense per-room ids, so the ledger is a bitset of who answered
+ * plus two arrays holding each player's first answer and when it arrived. Checking and
+ * recording an answer are O(1), and a second answer from the same player is simply
+ * refused: it scores nothing and sends nothing.
+ *
+ * A room keeps one ledger and {@link #reset resets} it whenever a question opens, so no
+ * memory is allocated per round once the arrays have grown to the room's size. Like the
+ * rest of the room's state, it is only touched from the room's mailbox.
+ */
+public final class AnswerLedger {
+    private final BitSet answered = new BitSet();
+    private int[] choices = new int[8];
+    private long[] arrivalNanos = new long[8];
+    private int answeredCount;
+    private long openedNanos;
+
+    /**
+     * Clears the ledger for a new question.
+     *
+     * @param openedNanos the {@link System#nanoTime()} at which the question opened
+     */
+    public void reset(long openedNanos) {
+        answered.clear();
+        answeredCount = 0;
+        this.openedNanos = openedNanos;
+    }
+
+    /**
+     * Records a player's answer unless they have already answered this question.
+     *
+     * @param playerId     the player's dense id
+     * @param choice       the option chosen, 0 (A) to 3 (D)
+     * @param arrivalNanos the {@link System#nanoTime()} at which the answer arrived
+     * @return true if this is the player's first answer, false if it is a duplicate
+     */
+    public boolean record(int playerId, int choice, long arrivalNanos) {
+        if (answered.get(playerId)) return false;
+        if (playerId >= choices.length) {
+            int size = Math.max(playerId + 1, choices.length * 2);
+            choices = Arrays.copyOf(choices, size);
+            this.arrivalNanos = Arrays.copyOf(this.arrivalNanos, size);
+        }
+        answered.set(playerId);
+        choices[playerId] = choice;
+        this.arrivalNanos[playerId] = arrivalNanos;
+        answeredCount++;
+        return true;
+    }
+
+    /**
+     * Reports whether a player has answered the open question.
+     *
+     * @param playerId the player's dense id
+     * @return true if an answer is recorded for them
+     */
+    public boolean hasAnswered(int playerId) {
+        return answered.get(playerId);
+    }
+
+    /**
+     * Returns a player's recorded answer.
+     *
+     * @param playerId the player's dense id
+     * @return the option chosen, or -1 if they have not answered
+     */
+    public int answerOf(int playerId) {
+        return answered.get(playerId) ? choices[playerId] : -1;
+    }
+
+    /**
+     * Returns how long a player took to answer after the question opened.
+     *
+     * @param playerId the player's dense id
+     * @return the response time in nanoseconds, or -1 if they have not answered
+     */
+    public long responseNanos(int playerId) {
+        return answered.get(playerId) ? arrivalNanos[playerId] - openedNanos : -1;
+    }
+
+    /**
+     * Returns the number of players who have answered the open question.
+     *
+     * @return the answer count
+     */
+    public int answeredCount() {
+        return answeredCount;
+    }
+}
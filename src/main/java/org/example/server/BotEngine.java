@@ -0,0 +1,114 @@
+package org.example.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The BotEngine class plays the computer bots of every room. Bots are not connections:
+ * a room lists them as players without a handler, and when a question opens it hands the
+ * engine the {@link Question} itself, never the wire text. For each bot the engine picks
+ * an answer and a delay from the bot's {@link BotProfile} and registers one timeout on the
+ * room's shared {@link HashedWheelTimer}, which later posts the answer to the room's
+ * mailbox. A bot therefore costs one timer entry per question and no thread of its own,
+ * so tens of thousands of them run on the server's fixed timer and room task threads.
+ *
+ * How many bots join each room and how they play are read from {@code trivia.bots}
+ * (default 1) and {@code trivia.bot.profile} (default "normal"; see {@link BotProfile#parse}).
+ */
+public final class BotEngine {
+    /**
+     * Name of a room's first bot; further bots are numbered after it.
+     */
+    public static final String BOT_NAME = "Computer";
+
+    private final List<String> botNames;
+    private final BotProfile profile;
+
+    /**
+     * Receives the answers bots give.
+     */
+    @FunctionalInterface
+    public interface AnswerSink {
+        /**
+         * Delivers a bot's answer.
+         *
+         * @param bot      the bot's name
+         * @param choice   the option chosen, 0 (A) to 3 (D)
+         * @param question the question the answer is for
+         */
+        void answer(String bot, int choice, Question question);
+    }
+
+    /**
+     * Creates an engine that puts the given number of bots in every room.
+     *
+     * @param botsPerRoom how many bots join a room along with its host
+     * @param profile     how the bots play
+     */
+    public BotEngine(int botsPerRoom, BotProfile profile) {
+        List<String> names = new ArrayList<>(botsPerRoom);
+        for (int i = 1; i <= botsPerRoom; i++) {
+            names.add(i == 1 ? BOT_NAME : BOT_NAME + " " + i);
+        }
+        this.botNames = Collections.unmodifiableList(names);
+        this.profile = profile;
+    }
+
+    /**
+     * Builds an engine from the {@code trivia.bots} and {@code trivia.bot.profile} system properties.
+     *
+     * @return the configured engine
+     */
+    public static BotEngine fromSystemProperties() {
+        return new BotEngine(Math.max(0, Integer.getInteger("trivia.bots", 1)),
+                BotProfile.parse(System.getProperty("trivia.bot.profile", "normal")));
+    }
+
+    /**
+     * Returns the names of the bots that join each room.
+     *
+     * @return the bot names; empty if rooms get no bots
+     */
+    public List<String> botNames() {
+        return botNames;
+    }
+
+    /**
+     * Returns how the bots play.
+     *
+     * @return the bot profile
+     */
+    public BotProfile profile() {
+        return profile;
+    }
+
+    /**
+     * Schedules every bot's answer to a question that has just opened.
+     *
+     * @param question the open question
+     * @param bots     the bots in the room
+     * @param timer    the room's timer
+     * @param sink     receives each answer when its delay has passed
+     */
+    public void questionOpened(Question question, List<String> bots, HashedWheelTimer timer, AnswerSink sink) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int correct = question.getCorrectIndex();
+        for (String bot : bots) {
+            int choice;
+            if (correct >= 0 && random.nextDouble() < profile.accuracy()) {
+                choice = correct;
+            } else if (correct >= 0) {
+                // One of the three wrong options
+                choice = (correct + 1 + random.nextInt(3)) % 4;
+            } else {
+                choice = random.nextInt(4);
+            }
+            long delay = profile.minLatencyMillis()
+                    + random.nextLong(profile.maxLatencyMillis() - profile.minLatencyMillis() + 1);
+            timer.schedule(() -> sink.answer(bot, choice, question), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+}
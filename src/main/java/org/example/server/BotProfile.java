@@ -0,0 +1,69 @@
+package org.example.server;
+
+import java.util.Locale;
+
+/**
+ * The BotProfile record describes how well and how fast a computer bot plays.
+ *
+ * @param accuracy         chance from 0 to 1 that the bot picks the correct answer
+ * @param minLatencyMillis shortest time the bot takes to answer after a question opens
+ * @param maxLatencyMillis longest time the bot takes to answer; the delay is uniform in between
+ */
+public record BotProfile(double accuracy, long minLatencyMillis, long maxLatencyMillis) {
+    /**
+     * A slow bot that gets half the questions right.
+     */
+    public static final BotProfile EASY = new BotProfile(0.5, 5000, 9000);
+    /**
+     * The original bot: right 80% of the time, answering 3 to 8 seconds in.
+     */
+    public static final BotProfile NORMAL = new BotProfile(0.8, 3000, 8000);
+    /**
+     * A quick bot that is almost always right.
+     */
+    public static final BotProfile HARD = new BotProfile(0.95, 1000, 4000);
+
+    /**
+     * Checks the profile's values.
+     *
+     * @throws IllegalArgumentException if the accuracy is outside 0 to 1 or the latencies are out of order
+     */
+    public BotProfile {
+        if (accuracy < 0 || accuracy > 1) {
+            throw new IllegalArgumentException("Bot accuracy must be between 0 and 1: " + accuracy);
+        }
+        if (minLatencyMillis < 0 || maxLatencyMillis < minLatencyMillis) {
+            throw new IllegalArgumentException("Bad bot latency range: " + minLatencyMillis + "-" + maxLatencyMillis);
+        }
+    }
+
+    /**
+     * Parses a profile: "easy", "normal" or "hard", or a custom "accuracy:min-max" such as
+     * "0.9:500-2000" (latencies in milliseconds).
+     *
+     * @param text the profile
+     * @return the parsed profile
+     * @throws IllegalArgumentException if the text is not a valid profile
+     */
+    public static BotProfile parse(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        return switch (value) {
+            case "easy" -> EASY;
+            case "normal" -> NORMAL;
+            case "hard" -> HARD;
+            default -> parseCustom(value);
+        };
+    }
+
+    // Parses "accuracy:min-max"
+    private static BotProfile parseCustom(String value) {
+        int colon = value.indexOf(':');
+        int dash = value.indexOf('-', colon + 1);
+        if (colon < 0 || dash < 0) {
+            throw new IllegalArgumentException("Unknown bot profile: " + value);
+        }
+        return new BotProfile(Double.parseDouble(value.substring(0, colon)),
+                Long.parseLong(value.substring(colon + 1, dash)),
+                Long.parseLong(value.substring(dash + 1)));
+    }
+}
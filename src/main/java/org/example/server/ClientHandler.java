@@ -1,19 +1,86 @@
 package org.example.server;
 
+import org.example.logging.Log;
+import org.example.metrics.ServerMetrics;
+import org.example.protocol.ClientFrames;
+import org.example.protocol.Protocol;
+import org.example.protocol.WireCodec;
+
 import java.io.*;
 import java.net.Socket;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 /**
  * The ClientHandler class handles communication with a single client
  * connected to the game server. It processes incoming commands and messages,
  * manages room creation and joining, and sends responses back to the client.
+ *
+ * In {@link ServerMode#THREAD} mode the handler runs on its own thread and blocks on
+ * the socket. In {@link ServerMode#NIO} mode it is a per-connection state object that
+ * its {@link EventLoop} drives whenever the channel is readable or writable.
+ *
+ * Sending never blocks the caller: messages go into the connection's bounded
+ * {@link OutboundQueue} and are written in batches by the I/O side (the event loop,
+ * or a writer thread in the blocking modes), with one flush per batch.
+ *
+ * Every connection starts on the newline text protocol. A client that sends
+ * {@link Protocol#BINARY_REQUEST} instead of its name is switched to length-prefixed
+ * binary frames for the rest of the connection; both modes share the same decoder.
  */
 public class ClientHandler implements Runnable {
+    // Longest command line accepted before the connection is dropped
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+    // Most messages gathered into a single write
+    static final int WRITE_BATCH_SIZE = 64;
+    // Per-connection read buffer of the blocking modes
+    private static final int BLOCKING_READ_BUFFER_SIZE = 4 * 1024;
+    // Answer letters in option order; a letter's position is the answer index
+    private static final String ANSWER_LETTERS = "ABCD";
+    private static final ServerMetrics METRICS = ServerMetrics.getInstance();
+    private static final Log LOG = Log.get("client");
+
     private final Socket socket;
     private final GameServer server;
-    private BufferedReader input;
-    private PrintWriter output;
     private String name;
-    private GameRoom currentRoom;
+    // Set by the room's mailbox once a join succeeds, read by the connection's own thread
+    private volatile GameRoom currentRoom;
+    private volatile boolean disconnected;
+    private State state = State.AWAITING_NAME;
+    private volatile boolean binary;
+    private ClientFrames.Listener frameCommands;
+    private byte[] partial;
+    private int partialLength;
+    private final OutboundQueue outbound;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final AtomicBoolean overflowed = new AtomicBoolean();
+
+    // Blocking modes only
+    private volatile Thread writerThread;
+
+    // Non-blocking mode only
+    private final SocketChannel channel;
+    private final EventLoop eventLoop;
+    private SelectionKey key;
+    private ByteBuffer[] unwritten;
+    private int unwrittenIndex;
+    private int unwrittenCount;
+
+    /**
+     * Where the handler is in the command conversation with its client.
+     */
+    private enum State {
+        AWAITING_NAME,
+        READY,
+        AWAITING_CODE
+    }
 
     // Constructor to initialize client handler with socket and server reference
     /**
@@ -25,6 +92,24 @@ public class ClientHandler implements Runnable {
     public ClientHandler(Socket socket, GameServer server) {
         this.socket = socket;
         this.server = server;
+        this.channel = null;
+        this.eventLoop = null;
+        this.outbound = new OutboundQueue(server != null ? server.getSlowConsumerPolicy() : SlowConsumerPolicy.fromSystemProperties());
+    }
+
+    /**
+     * Constructs a non-blocking ClientHandler owned by an event loop.
+     *
+     * @param channel   the client's non-blocking channel
+     * @param eventLoop the event loop that drives this connection
+     * @param server    the main GameServer instance managing rooms and clients
+     */
+    public ClientHandler(SocketChannel channel, EventLoop eventLoop, GameServer server) {
+        this.socket = null;
+        this.server = server;
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.outbound = new OutboundQueue(server.getSlowConsumerPolicy());
     }
 
     // Main client handling thread that processes commands and messages
@@ -35,63 +120,224 @@ public class ClientHandler implements Runnable {
      * - join
      * - start
      * - next
+     * - scores
      * - A/B/C/D (answers)
      */
     public void run() {
+        METRICS.connectionOpened();
         try {
-            input = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            output = new PrintWriter(socket.getOutputStream(), true);
-
-            // Get player name
-            output.println("Enter your name:");
-            name = input.readLine();
-            output.println("Hello " + name + "! Type 'create' to make a game or 'join' to join one.");
+            InputStream input = socket.getInputStream();
+            OutputStream output = socket.getOutputStream();
+            writerThread = Thread.ofVirtual().name("writer-" + socket.getPort()).start(() -> writeLoop(output));
 
-            // Main command loop
-            while (true) {
-                String command = input.readLine();
-                if (command == null) break;
-
-                if ("create".equalsIgnoreCase(command)) {
-                    handleCreateCommand();
-                } else if ("join".equalsIgnoreCase(command)) {
-                    handleJoinCommand();
-                } else if ("start".equalsIgnoreCase(command) && currentRoom != null) {
-                    if (currentRoom.getPlayerNames().iterator().next().equals(name)) {
-                        currentRoom.startGame();
-                    } else {
-                        output.println("Only the host can start the game!");
-                    }
-                } else if (command.length() == 1 && "ABCD".contains(command.toUpperCase())) {
-                    // Handle answer submission
-                    if (currentRoom != null && currentRoom.isGameStarted()) {
-                        currentRoom.processAnswer(name, command.toUpperCase());
-                    } else {
-                        output.println("Game not started yet!");
-                    }
-                } else if ("next".equalsIgnoreCase(command) && currentRoom != null) {
-                    // Host can force next question
-                    if (currentRoom.getPlayerNames().iterator().next().equals(name)) {
-                        currentRoom.sendNextQuestion();
-                    }
-                } else {
-                    output.println("Unknown command. Available commands:");
-                    output.println("- create: Create new game");
-                    output.println("- join: Join existing game");
-                    output.println("- start: Start game (host only)");
-                    output.println("- [A/B/C/D]: Answer current question (just the letter)");
-                    if (currentRoom != null && currentRoom.getPlayerNames().iterator().next().equals(name)) {
-                        output.println("- next: Move to next question (host only)");
-                    }
-                }
+            // Get player name, then run the main command loop
+            sendMessage("Enter your name:");
+            ByteBuffer buffer = ByteBuffer.allocate(BLOCKING_READ_BUFFER_SIZE);
+            int read;
+            while ((read = input.read(buffer.array())) >= 0) {
+                buffer.clear().limit(read);
+                consume(buffer);
             }
         } catch (IOException e) {
-            System.out.println(name + " disconnected.");
+            LOG.debug("{} disconnected.", name);
         } finally {
             try {
                 if (socket != null) socket.close();
             } catch (IOException e) {
-                System.out.println("Error closing socket");
+                LOG.warn("Error closing socket of {}: {}", name, e.getMessage());
+            }
+            LockSupport.unpark(writerThread);
+            leaveRoom();
+            METRICS.connectionClosed();
+        }
+    }
+
+    // Blocking modes: drains the outbound queue to the socket, one flush per batch
+    private void writeLoop(OutputStream output) {
+        ByteBuffer[] batch = new ByteBuffer[WRITE_BATCH_SIZE];
+        try (OutputStream buffered = new BufferedOutputStream(output)) {
+            WritableByteChannel sink = Channels.newChannel(buffered);
+            while (!socket.isClosed()) {
+                int count;
+                while ((count = outbound.drainTo(batch)) > 0) {
+                    for (int i = 0; i < count; i++) {
+                        while (batch[i].hasRemaining()) {
+                            METRICS.bytesWritten(sink.write(batch[i]));
+                        }
+                        batch[i] = null;
+                    }
+                    buffered.flush();
+                }
+                flushScheduled.set(false);
+                if (outbound.isEmpty()) {
+                    LockSupport.park(this);
+                }
+            }
+        } catch (IOException e) {
+            // The reading side notices the broken socket and cleans up
+        }
+    }
+
+    /**
+     * Called by the event loop once the channel is registered with its selector.
+     *
+     * @param key the selection key of this connection
+     */
+    void onRegistered(SelectionKey key) {
+        this.key = key;
+        METRICS.connectionOpened();
+        sendMessage("Enter your name:");
+    }
+
+    /**
+     * Reads whatever the channel has available and handles every complete line or frame.
+     * Runs on the event loop thread.
+     *
+     * @param buffer the event loop's shared read buffer
+     */
+    void onReadable(ByteBuffer buffer) {
+        try {
+            buffer.clear();
+            int read = channel.read(buffer);
+            if (read < 0) {
+                close();
+                return;
+            }
+            buffer.flip();
+            consume(buffer);
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    /**
+     * Continues a write that previously could not complete. Runs on the event loop thread.
+     */
+    void onWritable() {
+        flushPendingWrites();
+    }
+
+    // Handles every complete line or frame in the buffer and keeps any incomplete tail
+    private void consume(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining() && isOpen()) {
+            if (binary) {
+                consumeFrames(buffer);
+            } else {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    METRICS.messageIn();
+                    handleLine(takeLine());
+                } else if (b != '\r') {
+                    appendToLine(b);
+                }
+            }
+        }
+    }
+
+    // Decodes every complete frame; a frame split across reads waits in the partial buffer
+    private void consumeFrames(ByteBuffer buffer) throws IOException {
+        ByteBuffer frames = buffer;
+        if (partialLength > 0) {
+            appendToPartial(buffer);
+            frames = ByteBuffer.wrap(partial, 0, partialLength);
+        }
+        try {
+            int length;
+            while (isOpen() && (length = WireCodec.completeFrameLength(frames, Protocol.MAX_CLIENT_PAYLOAD)) > 0) {
+                // Bound the decoder to this frame so a bad length can't read into the next one
+                int limit = frames.limit();
+                frames.limit(frames.position() + length);
+                METRICS.messageIn();
+                ClientFrames.decode(frames, frameCommands);
+                frames.limit(limit);
+            }
+        } catch (IllegalArgumentException | BufferUnderflowException e) {
+            throw new IOException("Malformed frame", e);
+        }
+        if (frames == buffer) {
+            appendToPartial(buffer);
+        } else {
+            partialLength = frames.remaining();
+            System.arraycopy(partial, frames.position(), partial, 0, partialLength);
+            releaseLargePartial();
+        }
+    }
+
+    // Handles one line of client input according to the conversation state
+    private void handleLine(String line) {
+        if (line.startsWith("PING:")) {
+            try {
+                handlePing(Long.parseLong(line.substring(5).trim()));
+            } catch (NumberFormatException e) {
+                sendMessage("PING needs the client time in milliseconds");
+            }
+            return;
+        }
+        switch (state) {
+            case AWAITING_NAME -> {
+                if (line.startsWith(Protocol.REQUEST_PREFIX)) {
+                    negotiateProtocol(line);
+                } else {
+                    acceptName(line);
+                }
+            }
+            case AWAITING_CODE -> {
+                state = State.READY;
+                completeJoin(line.toUpperCase());
+            }
+            case READY -> handleCommand(line);
+        }
+    }
+
+    // Switches the connection to binary frames if the client asked for a version we speak
+    private void negotiateProtocol(String request) {
+        if (!Protocol.BINARY_REQUEST.equals(request)) {
+            sendMessage(Protocol.REFUSED_PREFIX + "Unsupported protocol, staying on text");
+            return;
+        }
+        // The acknowledgement is the last text line; everything after it is framed
+        sendMessage(Protocol.BINARY_ACCEPTED);
+        frameCommands = new FrameCommands();
+        binary = true;
+    }
+
+    // Answers a clock probe with the server's wall clock, in any conversation state
+    private void handlePing(long clientTime) {
+        send(ServerMessage.pong(clientTime, System.currentTimeMillis()));
+    }
+
+    private void acceptName(String playerName) {
+        name = playerName;
+        state = State.READY;
+        sendMessage("Hello " + name + "! Type 'create' to make a game or 'join' to join one.");
+    }
+
+    // Processes a command from the main command loop
+    private void handleCommand(String command) {
+        if ("create".equalsIgnoreCase(command)) {
+            handleCreateCommand();
+        } else if ("join".equalsIgnoreCase(command)) {
+            handleJoinCommand();
+        } else if ("start".equalsIgnoreCase(command) && currentRoom != null) {
+            handleStartCommand();
+        } else if (answerIndex(command) >= 0) {
+            handleAnswer(answerIndex(command));
+        } else if ("next".equalsIgnoreCase(command) && currentRoom != null) {
+            handleNextCommand();
+        } else if ("scores".equalsIgnoreCase(command) && currentRoom != null) {
+            currentRoom.sendScoresTo(this);
+        } else if (command.toLowerCase().startsWith("deck ") && currentRoom != null) {
+            handleDeckCommand(command.substring(5).trim());
+        } else {
+            sendMessage("Unknown command. Available commands:");
+            sendMessage("- create: Create new game");
+            sendMessage("- join: Join existing game");
+            sendMessage("- start: Start game (host only)");
+            sendMessage("- [A/B/C/D]: Answer current question (just the letter)");
+            sendMessage("- scores: Show the current scores");
+            if (currentRoom != null && currentRoom.isHost(name)) {
+                sendMessage("- next: Move to next question (host only)");
+                sendMessage("- deck <count> [easy/medium/hard/any] [category]: Choose the next game's questions (host only)");
             }
         }
     }
@@ -100,43 +346,304 @@ public class ClientHandler implements Runnable {
     /**
      * Handles the 'create' command sent by the client.
      * Creates a new game room and assigns the client as the host.
-     *
-     * @throws IOException if an error occurs during room creation
      */
-    private void handleCreateCommand() throws IOException {
+    private void handleCreateCommand() {
         String code = server.createRoom(name, this);
-        currentRoom = server.getRoom(code);
-        output.println("Game created! Your code is: " + code);
-        output.println("Type 'start' to begin when players have joined.");
+        if (code == null) {
+            sendMessage("The server has no free room codes right now; please try again later.");
+            return;
+        }
+        sendMessage("Game created! Your code is: " + code);
+        sendMessage("Type 'start' to begin when players have joined.");
     }
 
     // Handles game joining command from client
     /**
      * Handles the 'join' command sent by the client.
-     * Prompts for a room code and attempts to join the specified room.
-     *
-     * @throws IOException if an error occurs during joining
-     */
-    private void handleJoinCommand() throws IOException {
-        output.println("Enter game code:");
-        String code = input.readLine().toUpperCase();
-        boolean joined = server.joinRoom(code, name, this);
-        if (joined) {
-            currentRoom = server.getRoom(code);
-            output.println("JOIN_SUCCESS:" + code);
+     * Prompts for a room code; the next line from the client is treated as the code.
+     */
+    private void handleJoinCommand() {
+        sendMessage("Enter game code:");
+        state = State.AWAITING_CODE;
+    }
+
+    // Starts the game if this client is the host
+    private void handleStartCommand() {
+        if (currentRoom.isHost(name)) {
+            currentRoom.startGame();
+        } else {
+            sendMessage("Only the host can start the game!");
+        }
+    }
+
+    // Sets how many questions the next game has and where they come from, if this client is the host
+    private void handleDeckCommand(String arguments) {
+        if (!currentRoom.isHost(name)) {
+            sendMessage("Only the host can choose the questions!");
+            return;
+        }
+        String[] parts = arguments.split("\\s+", 3);
+        int count;
+        Difficulty difficulty = null;
+        try {
+            count = Integer.parseInt(parts[0]);
+            if (parts.length > 1 && !"any".equalsIgnoreCase(parts[1])) {
+                difficulty = Difficulty.parse(parts[1]);
+            }
+        } catch (IllegalArgumentException e) {
+            sendMessage("Usage: deck <count> [easy/medium/hard/any] [category]");
+            return;
+        }
+        if (count < 1) {
+            sendMessage("A game needs at least one question.");
+            return;
+        }
+        String category = parts.length > 2 ? parts[2] : null;
+        currentRoom.configureQuestions(new QuestionFilter(category, difficulty), count, this);
+    }
+
+    // Maps a one-letter answer command to its option index, or -1 if it is not one
+    private static int answerIndex(String command) {
+        return command.length() == 1 ? ANSWER_LETTERS.indexOf(Character.toUpperCase(command.charAt(0))) : -1;
+    }
+
+    // Handles answer submission
+    private void handleAnswer(int answerIndex) {
+        if (currentRoom != null && currentRoom.isGameStarted()) {
+            currentRoom.processAnswer(name, answerIndex);
         } else {
-            output.println("JOIN_ERROR:Game not found or already started");
+            sendMessage("Game not started yet!");
+        }
+    }
+
+    // Host can force next question
+    private void handleNextCommand() {
+        if (currentRoom.isHost(name)) {
+            currentRoom.sendNextQuestion();
+        }
+    }
+
+    /**
+     * Attempts to join the room with the given code. An unknown or closed room is refused
+     * here; otherwise the room itself sends the reply once the join has run on its mailbox.
+     *
+     * @param code the room code sent by the client
+     */
+    private void completeJoin(String code) {
+        if (!server.joinRoom(code, name, this)) {
+            send(ServerMessage.joinError("Game not found or already started"));
+        }
+    }
+
+    /**
+     * Called by a room's mailbox when this client's join has succeeded, before the join
+     * reply is sent. Later commands go to that room.
+     *
+     * @param room the room joined
+     */
+    void joinedRoom(GameRoom room) {
+        currentRoom = room;
+        // The client may have gone while the join waited in the room's mailbox
+        if (disconnected) {
+            leaveRoom();
         }
     }
 
     // Sends message to this specific client
     /**
-     * Sends a message to this client through the output stream.
+     * Sends a message to this client. The message is queued and written by the
+     * connection's I/O side, so this returns immediately even for a stalled client.
      *
      * @param message the message to send
      */
     public void sendMessage(String message) {
-        output.println(message);
+        send(ServerMessage.of(message));
+    }
+
+    /**
+     * Queues an already encoded message; broadcasts hand the same message to every player.
+     * Droppable messages may be skipped if this client has fallen behind.
+     *
+     * @param message the encoded message to send
+     */
+    public void send(ServerMessage message) {
+        if (overflowed.get()) return;
+        ByteBuffer frame = binary ? message.binaryFrame() : message.textFrame();
+        switch (outbound.offer(frame, message.isDroppable())) {
+            case QUEUED -> {
+                METRICS.messageOut();
+                scheduleFlush();
+            }
+            case DROPPED -> { }
+            case OVERFLOW -> disconnectSlowConsumer();
+        }
+    }
+
+    // Messages waiting to be written; benchmarks drain it in place of the I/O side
+    OutboundQueue outbound() {
+        return outbound;
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) return;
+        if (channel == null) {
+            LockSupport.unpark(writerThread);
+        } else if (eventLoop.inEventLoop()) {
+            flushPendingWrites();
+        } else {
+            eventLoop.execute(this::flushPendingWrites);
+        }
+    }
+
+    // Drops a client whose backlog passed the high-water mark
+    private void disconnectSlowConsumer() {
+        if (!overflowed.compareAndSet(false, true)) return;
+        LOG.warn("{} is not keeping up with messages; disconnecting.", name);
+        if (channel == null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOG.warn("Error closing socket of {}: {}", name, e.getMessage());
+            }
+        } else if (eventLoop.inEventLoop()) {
+            close();
+        } else {
+            eventLoop.execute(this::close);
+        }
+    }
+
+    // Non-blocking mode: gathers queued messages into one write until the queue is empty
+    // or the socket buffer is full. Runs on the event loop thread.
+    private void flushPendingWrites() {
+        if (!channel.isOpen()) return;
+        try {
+            while (true) {
+                if (!writeUnwritten()) {
+                    // Socket buffer is full; resume when the channel becomes writable
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                ByteBuffer[] batch = eventLoop.writeBatch();
+                int count = outbound.drainTo(batch);
+                if (count > 0) {
+                    METRICS.bytesWritten(channel.write(batch, 0, count));
+                    keepUnwritten(batch, count);
+                    continue;
+                }
+                key.interestOps(SelectionKey.OP_READ);
+                flushScheduled.set(false);
+                // A sender may have queued a message after the last drain
+                if (outbound.isEmpty() || !flushScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+            }
+        } catch (IOException e) {
+            close();
+        }
+    }
+
+    // Retries the remainder of an earlier partial write; true once nothing is left over
+    private boolean writeUnwritten() throws IOException {
+        if (unwrittenCount == 0) return true;
+        METRICS.bytesWritten(channel.write(unwritten, unwrittenIndex, unwrittenCount));
+        while (unwrittenCount > 0 && !unwritten[unwrittenIndex].hasRemaining()) {
+            unwritten[unwrittenIndex++] = null;
+            unwrittenCount--;
+        }
+        if (unwrittenCount > 0) return false;
+        unwritten = null;
+        return true;
+    }
+
+    // Moves buffers a gathering write left unfinished out of the loop's shared batch
+    private void keepUnwritten(ByteBuffer[] batch, int count) {
+        int first = 0;
+        while (first < count && !batch[first].hasRemaining()) {
+            first++;
+        }
+        if (first < count) {
+            unwritten = Arrays.copyOfRange(batch, first, count);
+            unwrittenIndex = 0;
+            unwrittenCount = count - first;
+        }
+        Arrays.fill(batch, 0, count, null);
+    }
+
+    // Moves the accumulated bytes of the current line into a String
+    private String takeLine() {
+        String line = partialLength == 0 ? "" : new String(partial, 0, partialLength, StandardCharsets.UTF_8);
+        partialLength = 0;
+        releaseLargePartial();
+        return line;
+    }
+
+    // Appends a byte to the current line, growing the buffer only when needed
+    private void appendToLine(byte b) throws IOException {
+        if (partial == null) {
+            partial = new byte[64];
+        } else if (partialLength == partial.length) {
+            if (partialLength >= MAX_LINE_LENGTH) {
+                throw new IOException("Line too long");
+            }
+            partial = Arrays.copyOf(partial, partialLength * 2);
+        }
+        partial[partialLength++] = b;
+    }
+
+    // Appends the rest of a read to the partial buffer. Frame sizes are checked as they
+    // are decoded, so this holds at most one unfinished frame plus one read.
+    private void appendToPartial(ByteBuffer buffer) {
+        int count = buffer.remaining();
+        if (count == 0) return;
+        int needed = partialLength + count;
+        if (partial == null || partial.length < needed) {
+            int capacity = Math.max(64, partial == null ? 0 : partial.length);
+            while (capacity < needed) {
+                capacity *= 2;
+            }
+            partial = partial == null ? new byte[capacity] : Arrays.copyOf(partial, capacity);
+        }
+        buffer.get(partial, partialLength, count);
+        partialLength = needed;
+    }
+
+    // Don't let one long line or frame pin a large buffer to an idle connection
+    private void releaseLargePartial() {
+        if (partialLength == 0 && partial != null && partial.length > 256) {
+            partial = null;
+        }
+    }
+
+    private boolean isOpen() {
+        return channel != null ? channel.isOpen() : socket != null && !socket.isClosed();
+    }
+
+    /**
+     * Closes a non-blocking connection and releases its selection key.
+     */
+    void close() {
+        if (channel == null || !channel.isOpen()) return;
+        if (key != null) {
+            key.cancel();
+            METRICS.connectionClosed();
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LOG.warn("Error closing socket of {}: {}", name, e.getMessage());
+        }
+        LOG.debug("{} disconnected.", name);
+        leaveRoom();
+    }
+
+    // Takes a disconnected player out of their room so an abandoned room can be evicted
+    private void leaveRoom() {
+        disconnected = true;
+        GameRoom room = currentRoom;
+        currentRoom = null;
+        if (room != null && name != null) {
+            room.removePlayer(name);
+        }
     }
 
     // Returns the name of this client
@@ -148,4 +655,54 @@ public class ClientHandler implements Runnable {
     public String getName() {
         return name;
     }
-}
\ No newline at end of file
+
+    /**
+     * Maps the commands of a binary client onto the same actions as the text commands.
+     * Anything other than the name is ignored until the client has introduced itself.
+     */
+    private final class FrameCommands implements ClientFrames.Listener {
+        @Override
+        public void onHello(String playerName) {
+            if (state == State.AWAITING_NAME) acceptName(playerName);
+        }
+
+        @Override
+        public void onCommand(String command) {
+            if (state != State.AWAITING_NAME) handleLine(command);
+        }
+
+        @Override
+        public void onCreate() {
+            if (state == State.READY) handleCreateCommand();
+        }
+
+        @Override
+        public void onJoin(String code) {
+            if (state == State.AWAITING_NAME) return;
+            state = State.READY;
+            completeJoin(code.toUpperCase());
+        }
+
+        @Override
+        public void onStart() {
+            if (state == State.READY && currentRoom != null) handleStartCommand();
+        }
+
+        @Override
+        public void onNext() {
+            if (state == State.READY && currentRoom != null) handleNextCommand();
+        }
+
+        @Override
+        public void onAnswer(int index) {
+            if (state == State.READY && index >= 0 && index < ANSWER_LETTERS.length()) {
+                handleAnswer(index);
+            }
+        }
+
+        @Override
+        public void onPing(long clientTime) {
+            handlePing(clientTime);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.server;
+
+import org.example.logging.Log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * The DeckWatcher class reloads the question deck when its file, or any CSV in its
+ * directory, changes on disk. The new deck is parsed and validated on the watcher's own
+ * thread and only handed on if it is complete, so a broken edit never reaches a room.
+ *
+ * Each version is an immutable {@link QuestionBank}. Publishing one only swaps a
+ * reference: games already running keep the bank they started with, and an old bank
+ * becomes garbage (and a pack's mapping is released) once the last game using it ends.
+ *
+ * Packs should be replaced by renaming a new file over the old one, as
+ * {@link QuestionPackCompiler} does, never rewritten in place while mapped.
+ */
+public final class DeckWatcher implements Closeable {
+    // Editors save in several steps; reload once the deck has been quiet this long
+    private static final long SETTLE_MILLIS = 250;
+    private static final Log LOG = Log.get("deck");
+
+    private final Path deck;
+    private final Path directory;
+    private final Consumer<QuestionBank> publish;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private DeckWatcher(Path deck, Consumer<QuestionBank> publish) throws IOException {
+        this.deck = deck.toAbsolutePath();
+        this.directory = Files.isDirectory(this.deck) ? this.deck : this.deck.getParent();
+        this.publish = publish;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.thread = Thread.ofPlatform().name("deck-watcher").daemon().unstarted(this::run);
+    }
+
+    /**
+     * Starts watching a deck.
+     *
+     * @param deck    the deck file or directory, as accepted by {@link QuestionBank#read}
+     * @param publish receives each new valid version of the deck
+     * @return the running watcher
+     * @throws IOException if the deck's directory cannot be watched
+     */
+    public static DeckWatcher start(Path deck, Consumer<QuestionBank> publish) throws IOException {
+        DeckWatcher watcher = new DeckWatcher(deck, publish);
+        watcher.thread.start();
+        LOG.info("Watching question deck {}", watcher.deck);
+        return watcher;
+    }
+
+    /**
+     * Stops watching. A reload already in progress still completes.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    // Waits for changes to the deck and reloads it once they settle
+    private void run() {
+        try {
+            while (true) {
+                if (!isDeckChange(watchService.take())) continue;
+                // Keep absorbing events until the writer has finished
+                WatchKey key;
+                while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    isDeckChange(key);
+                }
+                reload();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // Closed; stop watching
+        }
+    }
+
+    // Drains a key's events and reports whether any touched the deck
+    private boolean isDeckChange(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                changed = true;
+            } else if (event.context() instanceof Path name) {
+                changed |= directory.equals(deck) ? QuestionBank.isCsv(name) : name.equals(deck.getFileName());
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    // Parses the new deck and publishes it only if it is valid
+    private void reload() {
+        long start = System.nanoTime();
+        QuestionBank bank;
+        try {
+            bank = QuestionBank.read(deck);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Keeping the current question deck; reload failed: {}", e.getMessage());
+            return;
+        }
+        publish.accept(bank);
+        LOG.info("Reloaded question deck: {} questions in {} ms", bank.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.server;
+
+/**
+ * The Difficulty enum lists how hard a question is. Questions without a
+ * difficulty in their deck count as {@link #MEDIUM}.
+ */
+public enum Difficulty {
+    /**
+     * Questions most players should get right.
+     */
+    EASY,
+    /**
+     * The default difficulty.
+     */
+    MEDIUM,
+    /**
+     * Questions for players who know the subject.
+     */
+    HARD;
+
+    /**
+     * Resolves a difficulty from a deck column or a command argument, ignoring case.
+     * A blank value means {@link #MEDIUM}.
+     *
+     * @param value the difficulty name
+     * @return the difficulty
+     * @throws IllegalArgumentException if the value does not name a difficulty
+     */
+    public static Difficulty parse(String value) {
+        if (value == null || value.isBlank()) {
+            return MEDIUM;
+        }
+        return valueOf(value.trim().toUpperCase());
+    }
+}
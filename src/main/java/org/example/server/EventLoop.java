@@ -0,0 +1,165 @@
+package org.example.server;
+
+import org.example.logging.Log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The EventLoop class owns a single {@link Selector} and the client connections
+ * registered with it. One thread drives the loop, dispatching read and write
+ * readiness to each connection's {@link ClientHandler} and running tasks that
+ * other threads hand over with {@link #execute(Runnable)}.
+ */
+public class EventLoop implements Runnable {
+    // Shared by every connection on this loop, so idle clients hold no read buffer of their own
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+    private static final Log LOG = Log.get("server");
+
+    private final Selector selector;
+    private final Thread thread;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean wakeupPending = new AtomicBoolean();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    private final ByteBuffer[] writeBatch = new ByteBuffer[ClientHandler.WRITE_BATCH_SIZE];
+
+    /**
+     * Creates an event loop with its own selector and (not yet started) thread.
+     *
+     * @param name the name given to the loop's thread
+     * @throws IOException if the selector cannot be opened
+     */
+    public EventLoop(String name) throws IOException {
+        this.selector = Selector.open();
+        this.thread = new Thread(this, name);
+    }
+
+    /**
+     * Starts the loop's thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Hands a freshly accepted connection to this loop. The channel is switched to
+     * non-blocking mode and registered for reads on the loop's own thread.
+     *
+     * @param channel the accepted client channel
+     * @param server  the GameServer the connection belongs to
+     */
+    public void register(SocketChannel channel, GameServer server) {
+        execute(() -> {
+            try {
+                channel.configureBlocking(false);
+                ClientHandler handler = new ClientHandler(channel, this, server);
+                SelectionKey key = channel.register(selector, SelectionKey.OP_READ, handler);
+                handler.onRegistered(key);
+            } catch (IOException e) {
+                LOG.warn("Could not register connection: {}", e.getMessage());
+                closeQuietly(channel);
+            }
+        });
+    }
+
+    /**
+     * Queues a task to run on the loop's thread and wakes the selector if needed.
+     *
+     * @param task the task to run
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        if (!inEventLoop() && wakeupPending.compareAndSet(false, true)) {
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Indicates whether the caller is running on this loop's thread.
+     *
+     * @return true if called from the loop's thread
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == thread;
+    }
+
+    /**
+     * Returns the array handlers gather queued messages into for a single write.
+     * Only valid on the loop's thread, and empty again once a flush returns.
+     *
+     * @return the loop's shared write batch
+     */
+    ByteBuffer[] writeBatch() {
+        return writeBatch;
+    }
+
+    /**
+     * Main loop: waits for readiness, dispatches it to the handlers and then runs queued tasks.
+     */
+    @Override
+    public void run() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                selector.select();
+                wakeupPending.set(false);
+                processSelectedKeys();
+                runTasks();
+            } catch (IOException | RuntimeException e) {
+                // The loop serves every connection on it, so it must outlive any one failure
+                LOG.error("Event loop error", e);
+            }
+        }
+    }
+
+    // Dispatches read/write readiness for every selected key. A handler that throws
+    // loses its own connection; the others on this loop carry on.
+    private void processSelectedKeys() {
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            SelectionKey key = keys.next();
+            keys.remove();
+            ClientHandler handler = (ClientHandler) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    handler.onReadable(readBuffer);
+                }
+                if (key.isValid() && key.isWritable()) {
+                    handler.onWritable();
+                }
+            } catch (CancelledKeyException e) {
+                handler.close();
+            } catch (RuntimeException e) {
+                LOG.error("Closing {} after an error", handler.getName(), e);
+                handler.close();
+            }
+        }
+    }
+
+    // Runs the tasks handed over by other threads
+    private void runTasks() {
+        Runnable task;
+        while ((task = tasks.poll()) != null) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                LOG.error("Event loop task failed", e);
+            }
+        }
+    }
+
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // already closing
+        }
+    }
+}
@@ -1,62 +1,53 @@
 package org.example.server;
 
-import com.opencsv.CSVReader;
-import com.opencsv.exceptions.CsvException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
 /**
  * The GameLogic class manages the core game flow and question management.
- * It loads trivia questions from a CSV file and provides access to the current
- * and next questions during the game.
+ * It walks one room through the shared {@link QuestionBank} and provides access
+ * to the current and next questions during the game. The room's own state is the
+ * indexes of the questions drawn for its game and a cursor into them, so creating
+ * a room loads nothing and starting a game copies no questions.
+ *
+ * Each game keeps the version of the bank that was current when it started, even if
+ * the deck is reloaded mid-game, and lets go of it when the game ends.
  */
 
 public class GameLogic {
-    private List<Question> questions = new ArrayList<>();
+    private final Supplier<QuestionBank> currentBank;
+    // The bank this game draws from; null between games
+    private QuestionBank questions;
+    // Bank indexes of this game's questions, in the order they are asked
+    private int[] order = new int[0];
     private int currentQuestionIndex = -1;
     private boolean gameRunning = false;
     private Question currentQuestion;
 
     /**
-     * Constructs a GameLogic instance and loads questions from the CSV resource file.
+     * Constructs a GameLogic instance over the process-wide question bank.
      */
     public GameLogic() {
-        loadQuestionsFromCSV("/QuesAns.csv");
+        this(QuestionBank::getInstance);
     }
 
-    // Loads questions from CSV file using OpenCSV
     /**
-     * Loads trivia questions from the specified CSV file using OpenCSV.
-     * Each row should contain at least 6 columns: question text, 4 options (A-D), and the correct answer.
+     * Constructs a GameLogic instance over the given question bank.
      *
-     * @param filename the path to the CSV file (must be in the resources folder)
+     * @param questions the questions to play through
      */
-    private void loadQuestionsFromCSV(String filename) {
-        try (InputStream is = getClass().getResourceAsStream(filename);
-             InputStreamReader isr = new InputStreamReader(is);
-             CSVReader reader = new CSVReader(isr)) {
-
-            // Skip header row
-            reader.readNext();
-
-            List<String[]> lines = reader.readAll();
-            for (String[] parts : lines) {
-                if (parts.length >= 6) {
-                    questions.add(new Question(
-                            parts[0].trim(),        // Question text
-                            parts[1].trim(),        // Option 1
-                            parts[2].trim(),        // Option 2
-                            parts[3].trim(),        // Option 3
-                            parts[4].trim(),        // Option 4
-                            parts[5].trim()         // Correct Answer
-                    ));
-                }
-            }
-            System.out.println("Loaded " + questions.size() + " questions from CSV");
-        } catch (Exception e) {
-            System.err.println("Error loading questions: " + e.getMessage());
-        }
+    public GameLogic(QuestionBank questions) {
+        this(() -> questions);
+    }
+
+    /**
+     * Constructs a GameLogic instance that plays each game from whichever bank is
+     * current when the game starts.
+     *
+     * @param currentBank supplies the latest version of the question bank
+     */
+    public GameLogic(Supplier<QuestionBank> currentBank) {
+        this.currentBank = currentBank;
     }
 
     /**
@@ -75,10 +66,23 @@ public class GameLogic {
 
     // starts the game
     /**
-     * Starts a new game session.
+     * Starts a new game session over every question in the bank, in random order.
      * Resets the question index and clears the current question.
      */
     public void startGame() {
+        startGame(QuestionFilter.ANY, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Starts a new game session with a fresh random draw of questions.
+     * Resets the question index and clears the current question.
+     *
+     * @param filter        the category and difficulty to draw from
+     * @param questionCount how many questions to ask; fewer if not enough match
+     */
+    public void startGame(QuestionFilter filter, int questionCount) {
+        questions = currentBank.get();
+        order = questions.sample(filter, questionCount, ThreadLocalRandom.current());
         gameRunning = true;
         currentQuestionIndex = -1;
         currentQuestion = null;
@@ -86,14 +90,14 @@ public class GameLogic {
 
     // fetches the next question
     /**
-     * Fetches the next question in the list.
+     * Fetches the next question drawn for this game.
      * If no more questions are available, returns null.
      *
      * @return the next {@link Question}, or null if all questions have been used
      */
     public Question getNextQuestion() {
-        if (++currentQuestionIndex < questions.size()) {
-            currentQuestion = questions.get(currentQuestionIndex);
+        if (++currentQuestionIndex < order.length) {
+            currentQuestion = questions.get(order[currentQuestionIndex]);
             return currentQuestion;
         }
         return null;
@@ -104,13 +108,37 @@ public class GameLogic {
      * Prints all loaded questions to the terminal for debugging.
      */
     public void printAllQuestions() {
-        for (Question q : questions) {
+        for (Question q : currentBank.get().questions()) {
             System.out.println(q);
         }
     }
 
+    /**
+     * Counts the questions in the bank that pass a filter.
+     *
+     * @param filter the category and difficulty to count
+     * @return the number of matching questions
+     */
+    public int countAvailable(QuestionFilter filter) {
+        return currentBank.get().index().count(filter);
+    }
+
+    /**
+     * Ends the game and releases its questions, so an outdated bank can be reclaimed.
+     */
+    public void endGame() {
+        gameRunning = false;
+        questions = null;
+        currentQuestion = null;
+    }
+
+    /**
+     * Returns the number of questions in the current game.
+     *
+     * @return the number of questions drawn when the game started
+     */
     public int getTotalQuestions() {
-        return questions.size();
+        return order.length;
     }
 
     // just to check if all questions are being loaded
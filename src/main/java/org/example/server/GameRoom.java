@@ -1,246 +1,541 @@
 package org.example.server;
 
+import org.example.logging.Log;
+import org.example.metrics.ServerMetrics;
+
 import java.util.*;
 import java.util.concurrent.*;
-import java.util.stream.Collectors;
+import java.util.function.Supplier;
 /**
  * The GameRoom class represents a single game room in the trivia game.
  * It manages players, scores, game state, question flow, and bot participation.
+ *
+ * The room is an actor. Every public command, from client threads, timers and the bot
+ * alike, is sent to the room's {@link Mailbox} and runs there one at a time, so the
+ * players, scores and game logic are only ever touched by one thread at once and need
+ * no locks. Rooms share the server's room task executor, so a few threads serve
+ * thousands of rooms. Other threads only read the immutable player snapshot and round
+ * state the room publishes through volatile fields.
+ *
+ * The room owns no threads: question deadlines, score flushes and bot delays are all
+ * registered with the server's shared {@link HashedWheelTimer}, which posts them back to
+ * the mailbox. Clients are told each question's absolute deadline and count down
+ * locally, so nothing ticks per second.
+ *
+ * Rounds follow an explicit state machine (see {@link RoundPhase}). A timer command
+ * carries the round state it was scheduled for and does nothing if the round has moved
+ * on, so the deadline timer and the host's "next" command can never both advance it.
+ *
+ * Each player's first answer to a question is kept in an {@link AnswerLedger}; repeats are
+ * dropped in O(1) without scoring or sending anything, so spamming answers costs nothing.
+ * Once every player in the room, bot included, has answered, the question closes without
+ * waiting for its deadline and the reveal ({@code trivia.revealMillis}) starts at once.
+ *
+ * Scores are not rebroadcast on every answer. Changed scores are collected and sent as
+ * one SCORE_DELTA (dense player id plus new score) per flush tick; full snapshots only
+ * go out when a player joins, when a question ends and when a player asks for them.
+ *
+ * Rooms are evicted by the server's {@link RoomRegistry} once unused. The room records
+ * when anything last happened in it, and {@link #close} shuts it down for good.
  */
 public class GameRoom {
     private final String code;
+    private final Mailbox mailbox;
+    // Everything below up to the volatile fields is only touched by the room's mailbox
     private final Map<String, ClientHandler> players = new LinkedHashMap<>();
-    private final Map<String, Integer> scores = new HashMap<>();
+    private final Map<String, Integer> scores = new LinkedHashMap<>();
+    // Dense per-room ids that score deltas refer to
+    private final Map<String, Integer> playerIds = new HashMap<>();
+    private int nextPlayerId;
+    // How long score changes are collected before one delta goes out
+    private static final long SCORE_FLUSH_MILLIS = 100;
+    private final Set<String> changedScores = new LinkedHashSet<>();
+    private boolean scoreFlushScheduled;
+    // Who has answered the open question; only first answers count
+    private final AnswerLedger answers = new AnswerLedger();
     private final GameLogic gameLogic;
-    private boolean gameStarted = false;
-    private ScheduledExecutorService questionTimer;
+    private final HashedWheelTimer timer;
+    // Pause between revealing an answer and opening the next question
+    private static final long REVEAL_DELAY_MILLIS = Long.getLong("trivia.revealMillis", 2000);
+    private HashedWheelTimer.Timeout deadlineTimeout;
+    private HashedWheelTimer.Timeout revealTimeout;
     private int questionTimeLimit = 10;
-    private boolean computerBotEnabled = true;
-    private String computerBotName = "Computer";
+    // Questions per game unless the host picks another number
+    private static final int DEFAULT_QUESTION_COUNT = Integer.getInteger("trivia.questionsPerGame", 15);
+    private static final ServerMetrics METRICS = ServerMetrics.getInstance();
+    private static final Log LOG = Log.get("room");
+    private QuestionFilter questionFilter = QuestionFilter.ANY;
+    private int questionCount = DEFAULT_QUESTION_COUNT;
+    // Published by the mailbox for other threads to read
+    private volatile Map<String, ClientHandler> playersSnapshot = Map.of();
+    private volatile RoundState round = new RoundState(RoundPhase.LOBBY, 0, null);
+    // System.nanoTime() of the last join, leave, game start, question or answer
+    private volatile long lastActivityNanos = System.nanoTime();
+    // Set as soon as the room is evicted; nobody can join a closed room
+    private volatile boolean closed;
+    private final BotEngine botEngine;
+    // Names of the room's bots; they are players without a handler
+    private final List<String> bots = new ArrayList<>();
+    private volatile int botCount;
     /**
      * Constructs a GameRoom with a unique room code.
      *
-     * @param code the room code assigned to this game
+     * @param code      the room code assigned to this game
+     * @param timer     the shared timer the room schedules its deadlines, score flushes and bot answers on
+     * @param roomTasks the shared executor that runs the room's commands
+     * @param botEngine plays the room's computer bots
+     * @param questions supplies the server's current question bank; each game keeps the one it started with
      */
-
-    public GameRoom(String code) {
+    public GameRoom(String code, HashedWheelTimer timer, Executor roomTasks, BotEngine botEngine,
+                    Supplier<QuestionBank> questions) {
         this.code = code;
-        this.gameLogic = new GameLogic();
-        this.questionTimer = Executors.newSingleThreadScheduledExecutor();
+        this.botEngine = botEngine;
+        this.mailbox = new Mailbox("room " + code, roomTasks);
+        this.gameLogic = new GameLogic(questions);
+        this.timer = timer;
     }
     /**
-     * Adds a player to the room and sends the initial success message.
-     * Also triggers bot addition if only one player is present.
+     * Adds a player to the room. The join is only settled once it runs on the mailbox:
+     * the player then gets the one join reply, and on success the handler is told which
+     * room it is in. The room's bots join along with the first player.
+     * A player who arrives after the room was closed gets a join error instead.
      *
      * @param name    the player's name
      * @param handler the ClientHandler associated with the player
      */
     public void addPlayer(String name, ClientHandler handler) {
-        players.put(name, handler);
-        scores.put(name, 0);
+        mailbox.execute(() -> {
+            if (closed) {
+                handler.send(ServerMessage.joinError("Game not found or already started"));
+                return;
+            }
+            int playerCount = putPlayer(name, handler);
+            scores.put(name, 0);
+
+            handler.joinedRoom(this);
+            // Send success message and room code to host
+            handler.send(ServerMessage.joinSuccess(code));
+            if (playerCount == 1) {
+                handler.send(ServerMessage.roomCode(code));
+            }
 
-        // Send success message and room code to host
-        handler.sendMessage("JOIN_SUCCESS:" + code);
-        if (players.size() == 1) {
-            handler.sendMessage("ROOM_CODE:" + code);
-        }
+            announcePlayerList();
+            announce(name + " has joined the room.");
 
-        announcePlayerList();
-        announce(name + " has joined the room.");
+            if (playerCount == 1) {
+                addBots();
+            }
+            // Everyone learns the newcomer's id along with the current scores
+            sendScoresUpdate();
+        });
+    }
 
-        if (computerBotEnabled && players.size() == 1) {
-            addComputerBot();
+    // Adds a player, republishes the snapshot and returns the new player count
+    private int putPlayer(String name, ClientHandler handler) {
+        touch();
+        players.put(name, handler);
+        if (!playerIds.containsKey(name)) {
+            playerIds.put(name, nextPlayerId++);
         }
+        playersSnapshot = Collections.unmodifiableMap(new LinkedHashMap<>(players));
+        return players.size();
     }
 
     /**
-     * Adds a simulated computer bot that answers questions randomly or correctly.
+     * Adds the bots the {@link BotEngine} puts in every room. A bot is a player with no
+     * handler: it is listed and scored like anyone else, but nothing is sent to it.
      */
-    private void addComputerBot() {
-        players.put(computerBotName, new ClientHandler(null, null) {
-            @Override
-            public void sendMessage(String message) {
-                if (message.startsWith("QUESTION:")) {
-                    String[] parts = message.split("\\|");
-                    String correctAnswer = parts[5];
-                    Random rand = new Random();
-                    int delay = 3 + rand.nextInt(6);
-
-                    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
-                    executor.schedule(() -> {
-                        // Bot has 80% chance to answer correctly
-                        if (rand.nextDouble() < 0.8) {
-                            processAnswer(computerBotName, correctAnswer);
-                        } else {
-                            char randomAnswer = (char) ('A' + rand.nextInt(4));
-                            processAnswer(computerBotName, String.valueOf(randomAnswer));
-                        }
-                    }, delay, TimeUnit.SECONDS);
-                }
-            }
-        });
-        announce(computerBotName + " has joined the room.");
-        announcePlayerList();
+    private void addBots() {
+        for (String bot : botEngine.botNames()) {
+            if (players.containsKey(bot)) continue;
+            putPlayer(bot, null);
+            scores.putIfAbsent(bot, 0);
+            bots.add(bot);
+            announce(bot + " has joined the room.");
+        }
+        botCount = bots.size();
+        if (!bots.isEmpty()) {
+            announcePlayerList();
+        }
     }
 
     /**
      * Starts the game by resetting the logic and sending the first question.
+     * Ignored while a game is already running.
      */
     public void startGame() {
-        if (players.size() < 1) {
-            announce("ERROR:Need at least 1 player to start the game");
-            return;
-        }
-
-        gameLogic.startGame();
-        gameStarted = true;
-        announce("GAME_STARTED");
-        sendNextQuestion();
+        mailbox.execute(() -> {
+            if (closed) {
+                announce("ERROR:This room has been closed");
+                return;
+            }
+            if (players.isEmpty()) {
+                announce("ERROR:Need at least 1 player to start the game");
+                return;
+            }
+            if (round.isRunning()) return;
+            gameLogic.startGame(questionFilter, questionCount);
+            round = new RoundState(RoundPhase.LOBBY, 0, null);
+            RoundState opened = advanceToNextQuestion();
+            announce(ServerMessage.gameStarted());
+            publish(opened);
+        });
     }
 
     /**
-     * Sends the next question to all players, starts the countdown timer,
-     * and handles timeout scenarios.
+     * Chooses the questions of the next game: how many, and from which category and difficulty.
+     * Every room draws its own random selection when the game starts. The room announces
+     * how many questions the game will have, or tells the requester if a game is running.
+     *
+     * @param filter    the category and difficulty to draw from
+     * @param count     how many questions to ask
+     * @param requester the player who asked, told if the change is refused
      */
+    public void configureQuestions(QuestionFilter filter, int count, ClientHandler requester) {
+        mailbox.execute(() -> {
+            if (round.isRunning()) {
+                requester.sendMessage("The questions can only be changed before the game starts.");
+                return;
+            }
+            questionFilter = filter;
+            questionCount = count;
+            int questions = Math.min(count, gameLogic.countAvailable(filter));
+            announce("Next game: " + questions + " questions"
+                    + (filter.category() == null ? "" : " from " + filter.category())
+                    + (filter.difficulty() == null ? "" : ", " + filter.difficulty().name().toLowerCase()));
+        });
+    }
 
+    /**
+     * Moves the game on at the host's request. An open question is closed straight
+     * away (revealing the answer); during the reveal the next question opens at once.
+     */
     public void sendNextQuestion() {
-        try {
-            if (questionTimer != null) {
-                questionTimer.shutdownNow();
-                if (!questionTimer.awaitTermination(1, TimeUnit.SECONDS)) {
-                    System.err.println("Question timer didn't terminate properly");
-                }
+        mailbox.execute(() -> {
+            RoundState current = round;
+            if (current.phase() == RoundPhase.QUESTION_OPEN) {
+                closeQuestion(current, false);
+            } else if (current.phase() == RoundPhase.REVEAL) {
+                advance(current);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
+        });
+    }
+
+    /**
+     * Closes the question if the round is still in the expected state: QUESTION_OPEN to REVEAL.
+     * The reveal is broadcast and the next transition scheduled; nothing blocks.
+     * A question everyone has answered closes with ALL_ANSWERED rather than TIME_UP, so
+     * clients keep showing the last player's answer feedback instead of a timeout.
+     *
+     * @param expected         the round state the caller observed
+     * @param everyoneAnswered true if the question closes early because all players answered
+     */
+    private void closeQuestion(RoundState expected, boolean everyoneAnswered) {
+        if (round != expected) return;
+        cancelQuestionTimers();
+        RoundState revealed = new RoundState(RoundPhase.REVEAL, expected.number(), expected.question());
+        round = revealed;
+
+        String correctAnswer = revealed.question().getCorrectAnswer();
+        if (everyoneAnswered) {
+            announce(ServerMessage.allAnswered());
+            announce("Everyone has answered! Correct answer was: " + correctAnswer);
+        } else {
+            announce(ServerMessage.timeUp());
+            announce("Time's up! Correct answer was: " + correctAnswer);
         }
+        sendScoresUpdate();
+        revealTimeout = schedule(() -> advance(revealed), REVEAL_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+    }
 
-        questionTimer = Executors.newSingleThreadScheduledExecutor();
-        Question question = gameLogic.getNextQuestion();
+    /**
+     * Leaves the reveal if the round is still in the expected state: REVEAL to the
+     * next QUESTION_OPEN, or to ENDED when there are no questions left.
+     *
+     * @param expected the round state the caller observed
+     */
+    private void advance(RoundState expected) {
+        if (round != expected) return;
+        cancelQuestionTimers();
+        publish(advanceToNextQuestion());
+    }
 
+    // Fetches the next question and sets the new round state
+    private RoundState advanceToNextQuestion() {
+        Question question = gameLogic.getNextQuestion();
         if (question == null) {
-            endGame();
+            gameLogic.endGame();
+            round = new RoundState(RoundPhase.ENDED, round.number(), null);
+        } else {
+            round = new RoundState(RoundPhase.QUESTION_OPEN, round.number() + 1, question);
+        }
+        return round;
+    }
+
+    // Broadcasts the state just entered and schedules the timers that end it
+    private void publish(RoundState state) {
+        touch();
+        if (state.phase() == RoundPhase.ENDED) {
+            announceFinalScores();
             return;
         }
 
-        // New format: "QUESTION:currentQ/totalQ:text|A|B|C|D|correct|time"
-        String questionMessage = String.format("QUESTION:%d/%d:%s|%s|%s|%s|%s|%s|%d",
-                gameLogic.getCurrentQuestionIndex() + 1,  // Current question (1-based)
-                gameLogic.getTotalQuestions(),           // Total questions
-                question.getText(),
-                question.getOptionA(),
-                question.getOptionB(),
-                question.getOptionC(),
-                question.getOptionD(),
-                question.getCorrectAnswer(),
-                questionTimeLimit);
-
-        announce(questionMessage);
-
-        // Timer updates every second
-        final int[] timeRemaining = {questionTimeLimit};
-        // In the sendNextQuestion method where you schedule timer updates:
-        ScheduledFuture<?> timerTask = questionTimer.scheduleAtFixedRate(() -> {
-            timeRemaining[0]--;
-            double progress = (double) timeRemaining[0] / questionTimeLimit;
-            announce("TIMER_UPDATE:" + progress + "|" + timeRemaining[0]);
-            if (timeRemaining[0] <= 0) {
-                announce("TIME_UP");
-                announce("Time's up! Correct answer was: " + question.getCorrectAnswer());
-                sendScoresUpdate();
-                sendNextQuestion();
-            }
-        }, 1, 1, TimeUnit.SECONDS);
+        answers.reset(System.nanoTime());
+        // One absolute deadline replaces the per-second ticks; clients correct it for clock skew
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(questionTimeLimit);
+        announce(ServerMessage.question(state.number(), gameLogic.getTotalQuestions(),
+                state.question(), questionTimeLimit, deadline));
 
         // Full question timeout
-        questionTimer.schedule(() -> {
-            timerTask.cancel(true);
-        }, questionTimeLimit, TimeUnit.SECONDS);
+        deadlineTimeout = schedule(() -> closeQuestion(state, false), questionTimeLimit, TimeUnit.SECONDS);
+        if (!bots.isEmpty()) {
+            botEngine.questionOpened(state.question(), bots, timer, this::processBotAnswer);
+        }
+    }
+
+    // Has the shared timer post a command to this room's mailbox after a delay
+    private HashedWheelTimer.Timeout schedule(Runnable command, long delay, TimeUnit unit) {
+        return timer.schedule(() -> mailbox.execute(command), delay, unit);
+    }
+
+    // Cancels the current round's deadline and reveal; O(1) on the shared timer
+    private void cancelQuestionTimers() {
+        cancel(deadlineTimeout);
+        cancel(revealTimeout);
+    }
+
+    private static void cancel(HashedWheelTimer.Timeout timeout) {
+        if (timeout != null) timeout.cancel();
     }
 
     /**
      * Processes a submitted answer from a player and updates scores accordingly.
+     * Answers only count while a question is open, and only a player's first answer counts.
      *
-     * @param playerName the name of the player submitting the answer
-     * @param answer     the answer submitted (A/B/C/D)
+     * @param playerName  the name of the player submitting the answer
+     * @param answerIndex the option submitted, 0 (A) to 3 (D)
      */
-    public void processAnswer(String playerName, String answer) {
-        if (!gameStarted) return;
-
-        Question currentQuestion = gameLogic.getCurrentQuestion();
-        if (currentQuestion == null) return;
-
-        String normalizedInput = answer.trim().toUpperCase();
-        boolean isCorrect = currentQuestion.isCorrectAnswer(normalizedInput);
-
-        synchronized(scores) {
-            if (isCorrect) {
-                int newScore = scores.getOrDefault(playerName, 0) + 1;
-                scores.put(playerName, newScore);
-                players.get(playerName).sendMessage(
-                        "ANSWER_RESULT:Correct! Your score: " + newScore +
-                                "|" + currentQuestion.getCorrectAnswer());
-            } else {
-                players.get(playerName).sendMessage(
-                        "ANSWER_RESULT:Incorrect! The correct answer was: " +
-                                currentQuestion.getCorrectAnswer() +
-                                "|" + currentQuestion.getCorrectAnswer());
+    public void processAnswer(String playerName, int answerIndex) {
+        // Taken before queueing, so the ledger sees when the answer really arrived
+        long arrived = System.nanoTime();
+        mailbox.execute(() -> acceptAnswer(playerName, answerIndex, arrived, null));
+    }
+
+    // A bot's answer only counts if the question it was given is still the open one
+    private void processBotAnswer(String bot, int answerIndex, Question question) {
+        long arrived = System.nanoTime();
+        mailbox.execute(() -> acceptAnswer(bot, answerIndex, arrived, question));
+    }
+
+    // Scores a first answer to the open question; expected, if given, must be that question
+    private void acceptAnswer(String playerName, int answerIndex, long arrived, Question expected) {
+        RoundState current = round;
+        if (current.phase() != RoundPhase.QUESTION_OPEN) return;
+        if (expected != null && current.question() != expected) return;
+        Integer playerId = playerIds.get(playerName);
+        if (playerId == null || !players.containsKey(playerName)) return;
+        // Repeats are dropped before anything is scored or sent
+        if (!answers.record(playerId, answerIndex, arrived)) return;
+        Question currentQuestion = current.question();
+        touch();
+
+        boolean isCorrect = currentQuestion.isCorrectAnswer(answerIndex);
+
+        int score = isCorrect
+                ? scores.merge(playerName, 1, Integer::sum)
+                : scores.getOrDefault(playerName, 0);
+        // Bots have no handler
+        ClientHandler handler = players.get(playerName);
+        if (handler != null) {
+            handler.send(ServerMessage.answerResult(isCorrect, score, currentQuestion.getCorrectAnswer()));
+            METRICS.answerToResult(System.nanoTime() - arrived);
+        }
+        if (isCorrect) {
+            markScoreChanged(playerName);
+        }
+        closeIfEveryoneAnswered(current);
+    }
+
+    // Closes the question early once every player still in the room has answered it
+    private void closeIfEveryoneAnswered(RoundState current) {
+        if (round != current || current.phase() != RoundPhase.QUESTION_OPEN) return;
+        // Cheap check first; answers from players who since left can make it pass early
+        if (answers.answeredCount() < players.size()) return;
+        for (String name : players.keySet()) {
+            Integer id = playerIds.get(name);
+            if (id == null || !answers.hasAnswered(id)) return;
+        }
+        closeQuestion(current, true);
+    }
+
+    // Records a changed score; the first change after a flush schedules the next one
+    private void markScoreChanged(String playerName) {
+        changedScores.add(playerName);
+        if (!scoreFlushScheduled) {
+            scoreFlushScheduled = true;
+            schedule(this::flushScoreDeltas, SCORE_FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Broadcasts every score that changed since the last flush as one delta
+    private void flushScoreDeltas() {
+        scoreFlushScheduled = false;
+        List<PlayerScore> changed = new ArrayList<>(changedScores.size());
+        for (String name : changedScores) {
+            Integer id = playerIds.get(name);
+            if (id != null) {
+                changed.add(new PlayerScore(id, name, scores.getOrDefault(name, 0)));
             }
-            sendScoresUpdate();
         }
+        changedScores.clear();
+        if (!changed.isEmpty()) {
+            announce(ServerMessage.scoreDelta(changed));
+        }
+    }
+
+    /**
+     * Sends a full snapshot of the scores to all players. Runs on the room's mailbox.
+     */
+    void sendScoresUpdate() {
+        // The snapshot covers every pending change; later ones are marked again
+        changedScores.clear();
+        announce(ServerMessage.scores(scoreSnapshot()));
     }
 
     /**
-     * Sends the updated scores to all players.
+     * Sends a full snapshot of the scores to one player, on their request.
+     *
+     * @param handler the player asking
      */
-    private void sendScoresUpdate() {
-        String scoresStr = scores.entrySet().stream()
-                .map(e -> e.getKey() + ":" + e.getValue())
-                .collect(Collectors.joining(","));
-        announce("SCORES:" + scoresStr);
+    public void sendScoresTo(ClientHandler handler) {
+        mailbox.execute(() -> handler.send(ServerMessage.scores(scoreSnapshot())));
+    }
+
+    // Every player's id, name and current score
+    private List<PlayerScore> scoreSnapshot() {
+        List<PlayerScore> snapshot = new ArrayList<>(scores.size());
+        for (Map.Entry<String, Integer> entry : scores.entrySet()) {
+            Integer id = playerIds.get(entry.getKey());
+            if (id != null) {
+                snapshot.add(new PlayerScore(id, entry.getKey(), entry.getValue()));
+            }
+        }
+        return snapshot;
     }
 
     /**
      * Ends the game and sends the final scores to all players.
      */
     public void endGame() {
-        gameStarted = false;
-        if (questionTimer != null) {
-            questionTimer.shutdownNow();
-        }
+        mailbox.execute(this::endRunningGame);
+    }
+
+    // Stops the game unless it has already ended and sends the final scores
+    private void endRunningGame() {
+        if (round.phase() == RoundPhase.ENDED) return;
+        cancelQuestionTimers();
+        gameLogic.endGame();
+        round = new RoundState(RoundPhase.ENDED, round.number(), null);
+        announceFinalScores();
+    }
+
+    /**
+     * Shuts the room down for good when it is evicted: nobody can join, any running game
+     * stops without final scores, pending timers are cancelled and the question bank is
+     * released. Players still in the room are told why.
+     *
+     * @param reason the message sent to remaining players
+     */
+    public void close(String reason) {
+        // Joins already queued behind this see the flag and are refused
+        closed = true;
+        mailbox.execute(() -> {
+            cancelQuestionTimers();
+            gameLogic.endGame();
+            round = new RoundState(RoundPhase.ENDED, round.number(), null);
+            changedScores.clear();
+            announce(reason);
+        });
+    }
+
+    /**
+     * Indicates whether the room has been closed.
+     *
+     * @return true once the room has been evicted
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Returns how long nothing has happened in the room.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return nanoseconds since the last join, leave, question or answer
+     */
+    public long idleNanos(long now) {
+        return now - lastActivityNanos;
+    }
+
+    /**
+     * Counts the players who are people rather than computer bots.
+     *
+     * @return the number of human players
+     */
+    public int humanPlayerCount() {
+        return playersSnapshot.size() - botCount;
+    }
 
-        String finalScores = scores.entrySet().stream()
-                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                .map(e -> e.getKey() + ":" + e.getValue())
-                .collect(Collectors.joining(","));
+    // Records that something happened in the room
+    private void touch() {
+        lastActivityNanos = System.nanoTime();
+    }
+
+    // Sends the final scores, highest first
+    private void announceFinalScores() {
+        List<PlayerScore> finalScores = new ArrayList<>(scoreSnapshot());
+        finalScores.sort(Comparator.comparingInt(PlayerScore::score).reversed());
 
-        announce("FINAL_SCORES:" + finalScores);
+        announce(ServerMessage.finalScores(finalScores));
     }
 
     /**
      * Sends an updated player list to all connected clients.
      */
     private void announcePlayerList() {
-        String playerList = String.join(",", players.keySet());
-        announce("PLAYER_LIST:" + playerList);
+        announce(ServerMessage.playerList(playersSnapshot.keySet()));
     }
 
     /**
      * Sends a message to all players in the room.
+     * Each message is only queued per player, so this returns without waiting on any client.
      *
      * @param message the message to broadcast
      */
     public void announce(String message) {
-        System.out.println("Broadcasting: " + message); // Debug log
-        for (ClientHandler handler : players.values()) {
+        announce(ServerMessage.of(message));
+    }
+
+    /**
+     * Sends an encoded message to all players in the room. The message is encoded once
+     * and every player's queue receives a view of the same bytes. Safe from any thread,
+     * since it only reads the published player snapshot.
+     *
+     * @param message the message to broadcast
+     */
+    public void announce(ServerMessage message) {
+        LOG.debug("Broadcasting: {}", message.text());
+        long start = System.nanoTime();
+        for (ClientHandler handler : playersSnapshot.values()) {
             if (handler != null) {
                 try {
-                    handler.sendMessage(message);
+                    handler.send(message);
                 } catch (Exception e) {
-                    System.err.println("Error sending to player: " + e.getMessage());
+                    LOG.warn("Error sending to player: {}", e.getMessage());
                 }
             }
         }
+        METRICS.broadcastFanout(System.nanoTime() - start);
     }
 
     /**
@@ -258,7 +553,20 @@ public class GameRoom {
      * @return a Set of player names
      */
     public Set<String> getPlayerNames() {
-        return players.keySet();
+        return playersSnapshot.keySet();
+    }
+
+    /**
+     * Indicates whether a player is the room's host, its longest-standing player.
+     * Reads the published snapshot, so it is false while the room is still empty,
+     * including before the host's own join has run on the mailbox.
+     *
+     * @param name the player's name
+     * @return true if the player is the host
+     */
+    public boolean isHost(String name) {
+        Iterator<String> names = playersSnapshot.keySet().iterator();
+        return names.hasNext() && names.next().equals(name);
     }
 
     /**
@@ -267,21 +575,47 @@ public class GameRoom {
      * @return true if the game is running, false otherwise
      */
     public boolean isGameStarted() {
-        return gameStarted;
+        return round.isRunning();
+    }
+
+    /**
+     * Returns the phase the current round is in.
+     *
+     * @return the current round phase
+     */
+    public RoundPhase getRoundPhase() {
+        return round.phase();
     }
 
     /**
-     * Removes a player from the room and ends the game if no players remain.
+     * Removes a player from the room and ends the game if only the computer bot remains.
      *
      * @param name the name of the player to remove
      */
     public void removePlayer(String name) {
-        players.remove(name);
-        announce(name + " has left the room.");
-        announcePlayerList();
+        mailbox.execute(() -> {
+            if (players.remove(name) == null) return;
+            touch();
+            playersSnapshot = Collections.unmodifiableMap(new LinkedHashMap<>(players));
+            announce(name + " has left the room.");
+            announcePlayerList();
+
+            if (isGameStarted() && humanPlayerCount() == 0) {
+                endRunningGame();
+            } else {
+                // The one player everyone was waiting for may just have left
+                closeIfEveryoneAnswered(round);
+            }
+        });
+    }
 
-        if (gameStarted && players.isEmpty()) {
-            endGame();
+    /**
+     * An immutable snapshot of the round: its phase, its 1-based question number
+     * and the question being asked (null in LOBBY and ENDED).
+     */
+    private record RoundState(RoundPhase phase, int number, Question question) {
+        boolean isRunning() {
+            return phase == RoundPhase.QUESTION_OPEN || phase == RoundPhase.REVEAL;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,13 +1,28 @@
 package org.example.server;
 
+import org.example.logging.Log;
+import org.example.metrics.ServerMetrics;
+
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 /**
  * The GameServer class starts a server on a fixed port and handles
  * incoming client connections. It manages game rooms by creating,
  * storing, and retrieving them based on unique room codes.
+ *
+ * Connections are served by a platform thread per client, a virtual thread
+ * per client, or a fixed pool of selector event loops, depending on the
+ * {@link ServerMode}.
  */
 public class GameServer {
     //port to start server
@@ -15,19 +30,78 @@ public class GameServer {
      * Port number the server listens on.
      */
     public static final int port = 50000;
+    // Pending connections the OS may queue before accept(); the JDK default of 50 drops bursts of joins
+    private static final int ACCEPT_BACKLOG = 1024;
+    // One tick of the shared room timers; fine enough for second-scale deadlines and bot delays
+    private static final long TIMER_TICK_MILLIS = 10;
+    private static final int TIMER_WHEEL_SIZE = 512;
+    private static final Log LOG = Log.get("server");
     //manage game rooms
     /**
-     * A map of active game rooms indexed by their unique room code.
+     * The live game rooms indexed by their unique room code. Lookups and creation never
+     * need a server-wide lock, and unused rooms are evicted so their codes can be reused.
+     */
+    private final RoomRegistry gameRooms = RoomRegistry.fromSystemProperties();
+    private final int listenPort;
+    /**
+     * Server-wide timers shared by every room, sharded by room code.
+     */
+    private HashedWheelTimer[] timers;
+    /**
+     * Executor shared by every room's mailbox and by the timers' expired tasks.
+     */
+    private Executor roomTasks;
+    /**
+     * Plays the computer bots of every room on the shared timers.
+     */
+    private final BotEngine botEngine = BotEngine.fromSystemProperties();
+    private final SlowConsumerPolicy slowConsumerPolicy = SlowConsumerPolicy.fromSystemProperties();
+    /**
+     * Questions shared by every room, parsed once when the server is created and
+     * swapped for a new snapshot whenever the watched deck changes.
+     */
+    private volatile QuestionBank questionBank = QuestionBank.getInstance();
+
+    /**
+     * Creates a server that listens on the default {@link #port}.
+     */
+    public GameServer() {
+        this(port);
+    }
+
+    /**
+     * Creates a server that listens on the given port.
+     *
+     * @param listenPort the port to accept client connections on
      */
-    private final Map<String, GameRoom> gameRooms = new HashMap<>();
+    public GameServer(int listenPort) {
+        this.listenPort = listenPort;
+    }
 
     /**
      * Main method to launch the game server.
      *
-     * @param args command-line arguments (not used)
+     * @param args command-line arguments; the first one optionally names the
+     *             {@link ServerMode} ("thread", "virtual" or "nio") and the
+     *             second one optionally overrides the port
      */
     public static void main(String[] args) {
-        new GameServer().start();
+        Log.init("server");
+        int listenPort = args.length > 1 ? Integer.parseInt(args[1]) : port;
+        new GameServer(listenPort).start(ServerMode.fromArgs(args));
+    }
+
+    /**
+     * Starts the game server in the given mode.
+     *
+     * @param mode how client connections should be served
+     */
+    public void start(ServerMode mode) {
+        switch (mode) {
+            case THREAD -> start();
+            case VIRTUAL -> startVirtual();
+            case NIO -> startNio();
+        }
     }
 
     // Start the game server
@@ -36,13 +110,17 @@ public class GameServer {
      * Each client is assigned a new thread via ClientHandler.
      */
     public void start() {
-        try (ServerSocket serverSocket = new ServerSocket(port)) {
-            System.out.println("Server began running on " + port + "...");
+        startTimers(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                Thread.ofPlatform().name("room-task-", 0).daemon().factory()));
+        watchDeck();
+        ServerMetrics.getInstance().expose();
+        try (ServerSocket serverSocket = new ServerSocket(listenPort, ACCEPT_BACKLOG)) {
+            LOG.info("Server began running on {}...", listenPort);
 
             while (true) {
                 // Accept a socket connection from a new client
                 Socket clientSocket = serverSocket.accept();
-                System.out.println("New connection: " + clientSocket.getInetAddress());
+                LOG.debug("New connection: {}", clientSocket.getInetAddress());
 
                 // Create a ClientHandler for the new client
                 ClientHandler handler = new ClientHandler(clientSocket, this);
@@ -51,50 +129,139 @@ public class GameServer {
                 new Thread(handler).start();
             }
         } catch (IOException e) {
-            e.printStackTrace();
+            LOG.error("Server stopped accepting connections", e);
+        }
+    }
+
+    /**
+     * Starts the game server with every ClientHandler on its own virtual thread.
+     * The handlers keep their blocking readLine/println code; a blocked virtual
+     * thread simply unmounts from its carrier. Room timer tasks also run on virtual threads.
+     */
+    public void startVirtual() {
+        startTimers(Executors.newVirtualThreadPerTaskExecutor());
+        watchDeck();
+        ServerMetrics.getInstance().expose();
+        try (ServerSocket serverSocket = new ServerSocket(listenPort, ACCEPT_BACKLOG);
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            LOG.info("Server began running on {} with virtual threads...", listenPort);
+
+            while (true) {
+                Socket clientSocket = serverSocket.accept();
+                LOG.debug("New connection: {}", clientSocket.getInetAddress());
+                clients.submit(new ClientHandler(clientSocket, this));
+            }
+        } catch (IOException e) {
+            LOG.error("Server stopped accepting connections", e);
+        }
+    }
+
+    /**
+     * Starts the game server in non-blocking mode. One event loop is created per
+     * available core and accepted connections are handed to them round-robin,
+     * so the number of server threads no longer grows with the number of players.
+     */
+    public void startNio() {
+        int loopCount = Runtime.getRuntime().availableProcessors();
+        startTimers(Executors.newFixedThreadPool(loopCount,
+                Thread.ofPlatform().name("room-task-", 0).daemon().factory()));
+        watchDeck();
+        ServerMetrics.getInstance().expose();
+        try (ServerSocketChannel serverChannel = ServerSocketChannel.open()) {
+            serverChannel.bind(new InetSocketAddress(listenPort), ACCEPT_BACKLOG);
+
+            EventLoop[] loops = new EventLoop[loopCount];
+            for (int i = 0; i < loopCount; i++) {
+                loops[i] = new EventLoop("event-loop-" + i);
+                loops[i].start();
+            }
+            LOG.info("Server began running on {} with {} event loops...", listenPort, loopCount);
+
+            int next = 0;
+            while (true) {
+                // Accept on this thread, then let an event loop own the connection
+                SocketChannel clientChannel = serverChannel.accept();
+                LOG.debug("New connection: {}", clientChannel.socket().getInetAddress());
+                loops[next].register(clientChannel, this);
+                next = (next + 1) % loopCount;
+            }
+        } catch (IOException e) {
+            LOG.error("Server stopped accepting connections", e);
         }
     }
 
     /* After getting the host name, the function generates a random code to start a new game,
     generates a new game room,
-    Adds player to that room,
     stores the room in game rooms map,
-    and returns the code. */
+    Adds player to that room,
+    and returns the code, or null if every room code is in use.
+    No lock is held while the host is added, since that sends messages to the client.
+    Nobody else knows the code yet, so the host is always the room's first player. */
 
-    public synchronized String createRoom(String hostName, ClientHandler hostHandler) {
-        String code = generateGameCode();
-        GameRoom room = new GameRoom(code);
+    public String createRoom(String hostName, ClientHandler hostHandler) {
+        GameRoom room = gameRooms.create(code -> new GameRoom(code, timerFor(code), roomTasks, botEngine, () -> questionBank));
+        if (room == null) return null;
         room.addPlayer(hostName, hostHandler);
-        gameRooms.put(code, room);
-        return code;
+        return room.getCode();
     }
 
     /* to join a room, user inputs the code along with their name,
     function retrieves the requested game from game room,
-    if the room exists (code is valid), then player gets added to the room
+    if the room exists (code is valid), then player gets added to the room.
+    Returns false for an unknown or closed room; otherwise the join is queued on the room,
+    which sends the player's one join reply.
      */
-    public synchronized boolean joinRoom(String code, String playerName, ClientHandler handler) {
+    public boolean joinRoom(String code, String playerName, ClientHandler handler) {
         GameRoom room = gameRooms.get(code);
-        if (room != null) {
-            room.addPlayer(playerName, handler);
-            return true;
+        if (room == null || room.isClosed()) return false;
+        // A room evicted after this check refuses the player with a join error
+        room.addPlayer(playerName, handler);
+        return true;
+    }
+
+    /**
+     * Starts the shared room timers. A small number of wheels is used so that one
+     * wheel thread never has to expire every room's timeouts on its own.
+     *
+     * @param roomTasks executor that runs room commands and expired timer tasks
+     */
+    private void startTimers(Executor roomTasks) {
+        this.roomTasks = roomTasks;
+        int shards = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+        timers = new HashedWheelTimer[shards];
+        for (int i = 0; i < shards; i++) {
+            timers[i] = new HashedWheelTimer("room-timer-" + i, TIMER_TICK_MILLIS, TimeUnit.MILLISECONDS,
+                    TIMER_WHEEL_SIZE, roomTasks);
         }
-        return false;
+        gameRooms.startReaper(timers[0]);
     }
 
-    /* function generates a random & unique code for new games */
-    private String generateGameCode() {
-        String chars = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-        Random rand = new Random();
-        String code;
-        do {
-            StringBuilder sb = new StringBuilder();
-            for (int i = 0; i < 4; i++) {
-                sb.append(chars.charAt(rand.nextInt(chars.length())));
-            }
-            code = sb.toString();
-        } while (gameRooms.containsKey(code));
-        return code;
+    /**
+     * Watches the deck named by {@code trivia.deck}, if any, and publishes each valid
+     * new version for games that start afterwards.
+     */
+    private void watchDeck() {
+        String deck = System.getProperty(QuestionBank.DECK_PROPERTY);
+        if (deck == null) return;
+        try {
+            DeckWatcher.start(Path.of(deck), bank -> questionBank = bank);
+        } catch (IOException e) {
+            LOG.warn("Cannot watch question deck {}: {}", deck, e.getMessage());
+        }
+    }
+
+    // Picks the timer shard for a room code
+    private HashedWheelTimer timerFor(String code) {
+        return timers[Math.floorMod(code.hashCode(), timers.length)];
+    }
+
+    /**
+     * Returns the policy applied to clients whose outbound queue backs up.
+     *
+     * @return the slow consumer policy
+     */
+    public SlowConsumerPolicy getSlowConsumerPolicy() {
+        return slowConsumerPolicy;
     }
 
     /* Getter function to access a room using a code */
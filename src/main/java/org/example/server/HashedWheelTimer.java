@@ -0,0 +1,278 @@
+package org.example.server;
+
+import org.example.logging.Log;
+import org.example.metrics.ServerMetrics;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The HashedWheelTimer class is a server-wide timer that all rooms register their
+ * question deadlines, score flushes and bot answer delays with. A single thread advances
+ * a wheel of buckets every tick; each bucket holds a doubly linked list of timeouts,
+ * so scheduling and cancelling are both O(1) no matter how many rooms are running.
+ *
+ * Expired tasks are handed to an executor rather than run on the wheel thread, so a
+ * slow broadcast can never delay other rooms' timers.
+ */
+public class HashedWheelTimer {
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+    private static final ServerMetrics METRICS = ServerMetrics.getInstance();
+    private static final Log LOG = Log.get("timer");
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startNanos;
+    private volatile boolean running = true;
+    private long tick;
+
+    /**
+     * Creates and starts a timer.
+     *
+     * @param name         name of the timer's thread
+     * @param tickDuration how long one tick of the wheel lasts
+     * @param unit         unit of the tick duration
+     * @param wheelSize    number of buckets (rounded up to a power of two)
+     * @param taskExecutor executor that runs expired tasks
+     */
+    public HashedWheelTimer(String name, long tickDuration, TimeUnit unit, int wheelSize, Executor taskExecutor) {
+        this.name = name;
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.taskExecutor = taskExecutor;
+        this.startNanos = System.nanoTime();
+        this.worker = new Thread(this::runWheel, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Schedules a one-shot task.
+     *
+     * @param task  the task to run
+     * @param delay delay before the task runs
+     * @param unit  unit of the delay
+     * @return a handle that can cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return add(new Timeout(this, task, elapsedNanos() + unit.toNanos(delay), 0));
+    }
+
+    /**
+     * Schedules a task that repeats every period until it is cancelled.
+     *
+     * @param task         the task to run
+     * @param initialDelay delay before the first run
+     * @param period       delay between runs
+     * @param unit         unit of both delays
+     * @return a handle that cancels all future runs
+     */
+    public Timeout scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return add(new Timeout(this, task, elapsedNanos() + unit.toNanos(initialDelay), unit.toNanos(period)));
+    }
+
+    /**
+     * Stops the wheel. Timeouts that have not expired yet will never run.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private Timeout add(Timeout timeout) {
+        pending.add(timeout);
+        return timeout;
+    }
+
+    private long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    // Worker loop: wait for the next tick, then expire the bucket it points at
+    private void runWheel() {
+        while (running) {
+            long deadline = tickNanos * (tick + 1);
+            long sleep;
+            while ((sleep = deadline - elapsedNanos()) > 0) {
+                LockSupport.parkNanos(this, sleep);
+                if (!running) return;
+            }
+            METRICS.timerTickJitter(elapsedNanos() - deadline);
+            removeCancelled();
+            transferPending();
+            wheel[(int) (tick & mask)].expire(deadline);
+            tick++;
+        }
+    }
+
+    // Unlinks cancelled timeouts from their buckets
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    // Moves newly scheduled timeouts into the bucket of their deadline
+    private void transferPending() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            Timeout timeout = pending.poll();
+            if (timeout == null) return;
+            if (timeout.state != Timeout.ST_INIT) continue;
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout timeout) {
+        long calculated = timeout.deadline / tickNanos;
+        timeout.remainingRounds = (calculated - tick) / wheel.length;
+        // Deadlines already in the past go into the current bucket
+        long ticks = Math.max(calculated, tick);
+        wheel[(int) (ticks & mask)].add(timeout);
+    }
+
+    // Called on the wheel thread when a timeout's deadline has passed
+    private void fire(Timeout timeout) {
+        if (timeout.period > 0) {
+            // Re-arm for the next period; the same handle keeps cancelling future runs
+            timeout.deadline += timeout.period;
+            pending.add(timeout);
+        } else if (!Timeout.STATE.compareAndSet(timeout, Timeout.ST_INIT, Timeout.ST_EXPIRED)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> runTask(timeout));
+        } catch (RuntimeException e) {
+            LOG.error("{} could not run timer task: {}", name, e.getMessage());
+        }
+    }
+
+    private void runTask(Timeout timeout) {
+        if (timeout.period > 0 && timeout.isCancelled()) return;
+        try {
+            timeout.task.run();
+        } catch (Throwable t) {
+            LOG.error("{} timer task failed: {}", name, t);
+        }
+    }
+
+    /**
+     * A handle for a scheduled task.
+     */
+    public static final class Timeout {
+        private static final int ST_INIT = 0;
+        private static final int ST_CANCELLED = 1;
+        private static final int ST_EXPIRED = 2;
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long period;
+        private long deadline;
+        private volatile int state = ST_INIT;
+
+        // Owned by the wheel thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadline, long period) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        /**
+         * Cancels the task. A repeating task stops after any run already in progress.
+         *
+         * @return true if this call cancelled the task, false if it had already run or been cancelled
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, ST_INIT, ST_CANCELLED)) {
+                return false;
+            }
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * Indicates whether the task was cancelled.
+         *
+         * @return true if cancelled
+         */
+        public boolean isCancelled() {
+            return state == ST_CANCELLED;
+        }
+    }
+
+    /**
+     * One slot of the wheel: a doubly linked list of timeouts, touched only by the wheel thread.
+     */
+    private final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        void remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.prev != null) timeout.prev.next = next;
+            if (next != null) next.prev = timeout.prev;
+            if (timeout == head) head = next;
+            if (timeout == tail) tail = timeout.prev;
+            timeout.prev = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+
+        // Fires every timeout due by the deadline and counts down the rounds of the rest
+        void expire(long deadline) {
+            Timeout timeout = head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    if (timeout.deadline <= deadline) {
+                        fire(timeout);
+                    } else {
+                        pending.add(timeout);
+                    }
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+    }
+}
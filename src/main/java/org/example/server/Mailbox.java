@@ -0,0 +1,73 @@
+package org.example.server;
+
+import org.example.logging.Log;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The Mailbox class runs one owner's commands one at a time, in the order they were
+ * sent, on a shared executor. Any thread may send; sending is a lock-free enqueue onto a
+ * multi-producer queue plus, when the mailbox was idle, one task handed to the executor.
+ * At most one drain is ever scheduled, so the commands of one mailbox never overlap and
+ * the state they touch needs no locks, while thousands of mailboxes share a few threads.
+ *
+ * A drain runs a bounded batch and then yields its thread, so one busy room cannot hold
+ * a worker while other rooms' mail waits.
+ */
+public final class Mailbox implements Executor {
+    // Commands run per drain before the mailbox goes to the back of the executor's queue
+    private static final int DRAIN_BATCH = 64;
+    private static final Log LOG = Log.get("room");
+
+    private final String name;
+    private final Executor executor;
+    private final Queue<Runnable> mail = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Creates an empty mailbox.
+     *
+     * @param name     names the owner in error messages
+     * @param executor the shared executor that drains it
+     */
+    public Mailbox(String name, Executor executor) {
+        this.name = name;
+        this.executor = executor;
+    }
+
+    /**
+     * Sends a command. It runs after every command sent before it, never at the same
+     * time as another command of this mailbox.
+     *
+     * @param command the command
+     */
+    @Override
+    public void execute(Runnable command) {
+        mail.add(command);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    // Runs a batch of commands, then lets go of the thread, rescheduling if mail is left
+    private void drain() {
+        for (int i = 0; i < DRAIN_BATCH; i++) {
+            Runnable command = mail.poll();
+            if (command == null) break;
+            try {
+                command.run();
+            } catch (RuntimeException e) {
+                // One bad command must not stop the owner from handling the next
+                LOG.error("Error in {}", name, e);
+            }
+        }
+        scheduled.set(false);
+        // Mail sent after the last poll, or left over from a full batch, needs another drain
+        if (!mail.isEmpty() && scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.server;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The OutboundQueue class holds the encoded messages waiting to be written to one client.
+ * Any thread may offer messages without blocking; the connection's I/O side drains them
+ * in batches so that many messages cost a single write and flush.
+ *
+ * The queue is bounded in bytes by a {@link SlowConsumerPolicy}.
+ */
+public class OutboundQueue {
+    /**
+     * Outcome of offering a message to the queue.
+     */
+    public enum Offer {
+        /** The message was queued. */
+        QUEUED,
+        /** The message was droppable and the client is behind, so it was skipped. */
+        DROPPED,
+        /** The queue is past its high-water mark; the client should be disconnected. */
+        OVERFLOW
+    }
+
+    private final Queue<ByteBuffer> frames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedBytes = new AtomicInteger();
+    private final SlowConsumerPolicy policy;
+
+    /**
+     * Creates an empty queue governed by the given policy.
+     *
+     * @param policy limits applied when the client falls behind
+     */
+    public OutboundQueue(SlowConsumerPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * Offers an encoded message to the queue.
+     *
+     * @param frame     the bytes to write; the queue takes ownership of the buffer's position
+     * @param droppable whether the message may be skipped when the client is behind
+     * @return whether the message was queued, dropped, or overflowed the queue
+     */
+    public Offer offer(ByteBuffer frame, boolean droppable) {
+        int size = frame.remaining();
+        int queued = queuedBytes.get();
+        if (droppable && queued > policy.dropDroppableAboveBytes()) {
+            return Offer.DROPPED;
+        }
+        if (queued + size > policy.disconnectAboveBytes()) {
+            return Offer.OVERFLOW;
+        }
+        queuedBytes.addAndGet(size);
+        frames.add(frame);
+        return Offer.QUEUED;
+    }
+
+    /**
+     * Moves as many queued messages as fit into the batch array.
+     *
+     * @param batch array to fill from index 0
+     * @return the number of messages moved
+     */
+    public int drainTo(ByteBuffer[] batch) {
+        int count = 0;
+        ByteBuffer frame;
+        while (count < batch.length && (frame = frames.poll()) != null) {
+            queuedBytes.addAndGet(-frame.remaining());
+            batch[count++] = frame;
+        }
+        return count;
+    }
+
+    /**
+     * Indicates whether no messages are waiting.
+     *
+     * @return true if the queue is empty
+     */
+    public boolean isEmpty() {
+        return frames.isEmpty();
+    }
+
+    /**
+     * Returns the number of bytes waiting to be written.
+     *
+     * @return queued byte count
+     */
+    public int queuedBytes() {
+        return queuedBytes.get();
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.server;
+
+/**
+ * The PlayerScore record is one row of a room's scores: the player's dense id within
+ * the room, their name and their score. Score deltas refer to players by id only.
+ *
+ * @param id    the player's id within the room
+ * @param name  the player's name
+ * @param score the player's score
+ */
+public record PlayerScore(int id, String name, int score) {
+}
@@ -1,16 +1,36 @@
 package org.example.server;
+
+import org.example.protocol.ServerFrames;
+
+import java.nio.ByteBuffer;
+
 /**
  * The Question class represents a multiple-choice trivia question.
  * It includes the question text, four answer options (A–D),
  * and the correct answer (either as text or as a letter code).
+ *
+ * Questions are immutable. The correct answer is resolved to an option index once, when
+ * the question is built, and the parts of a QUESTION message that never change between
+ * games are encoded on first use and reused by every room that asks this question.
  */
-public class Question {
+public final class Question {
+    /**
+     * Category of questions whose deck does not name one.
+     */
+    public static final String DEFAULT_CATEGORY = "General";
+
     private final String text;
     private final String optionA;
     private final String optionB;
     private final String optionC;
     private final String optionD;
     private final String correctAnswer;
+    private final int correctIndex;
+    private final String category;
+    private final Difficulty difficulty;
+    // Benign races, as in ServerMessage: either thread's encoding is equivalent
+    private volatile String textBody;
+    private volatile ByteBuffer binaryBody;
 
     /**
      * Constructs a new Question with the specified text and options.
@@ -23,12 +43,80 @@ public class Question {
      * @param correctAnswer the correct answer (text or letter: A/B/C/D)
      */
     public Question(String text, String optionA, String optionB, String optionC, String optionD, String correctAnswer) {
+        this(text, optionA, optionB, optionC, optionD, correctAnswer, DEFAULT_CATEGORY, Difficulty.MEDIUM);
+    }
+
+    /**
+     * Constructs a new Question with the specified text, options, category and difficulty.
+     *
+     * @param text          the question text
+     * @param optionA       option A
+     * @param optionB       option B
+     * @param optionC       option C
+     * @param optionD       option D
+     * @param correctAnswer the correct answer (text or letter: A/B/C/D)
+     * @param category      the question's category
+     * @param difficulty    the question's difficulty
+     */
+    public Question(String text, String optionA, String optionB, String optionC, String optionD, String correctAnswer,
+                    String category, Difficulty difficulty) {
         this.text = text;
         this.optionA = optionA;
         this.optionB = optionB;
         this.optionC = optionC;
         this.optionD = optionD;
         this.correctAnswer = correctAnswer;
+        this.correctIndex = answerIndex(new String[]{optionA, optionB, optionC, optionD}, correctAnswer.trim());
+        this.category = category;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Constructs a new Question whose correct answer is already known by position.
+     *
+     * @param text         the question text
+     * @param optionA      option A
+     * @param optionB      option B
+     * @param optionC      option C
+     * @param optionD      option D
+     * @param correctIndex the index of the correct option, 0 (A) to 3 (D)
+     * @param category     the question's category
+     * @param difficulty   the question's difficulty
+     */
+    public Question(String text, String optionA, String optionB, String optionC, String optionD, int correctIndex,
+                    String category, Difficulty difficulty) {
+        this.text = text;
+        this.optionA = optionA;
+        this.optionB = optionB;
+        this.optionC = optionC;
+        this.optionD = optionD;
+        this.correctIndex = correctIndex;
+        this.correctAnswer = getOption(correctIndex);
+        this.category = category;
+        this.difficulty = difficulty;
+    }
+
+    /**
+     * Resolves an answer to an option index, accepting the option's text
+     * (ignoring case) or its letter.
+     *
+     * @param options the four options, A to D
+     * @param answer  the answer, already trimmed
+     * @return the option index from 0 to 3, or -1 if the answer matches no option
+     */
+    public static int answerIndex(String[] options, String answer) {
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].trim().equalsIgnoreCase(answer)) {
+                return i;
+            }
+        }
+        if (answer.length() == 1) {
+            int letter = Character.toUpperCase(answer.charAt(0)) - 'A';
+            if (letter >= 0 && letter < options.length) {
+                return letter;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -80,7 +168,44 @@ public class Question {
         return correctAnswer;
     }
 
+    /**
+     * Returns the question's category.
+     *
+     * @return the category
+     */
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the question's difficulty.
+     *
+     * @return the difficulty
+     */
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    /**
+     * Returns the index of the correct option.
+     *
+     * @return 0 (A) to 3 (D), or -1 if the correct answer matched no option
+     */
+    public int getCorrectIndex() {
+        return correctIndex;
+    }
+
     // check if the answer is correct
+    /**
+     * Checks whether the given option is the correct one.
+     *
+     * @param answerIndex the chosen option, 0 (A) to 3 (D)
+     * @return true if the answer is correct, false otherwise
+     */
+    public boolean isCorrectAnswer(int answerIndex) {
+        return correctIndex >= 0 && answerIndex == correctIndex;
+    }
+
     /**
      * Checks whether the given answer matches the correct answer.
      * Accepts both full text or letter-based input (A/B/C/D).
@@ -89,28 +214,49 @@ public class Question {
      * @return true if the answer is correct, false otherwise
      */
     public boolean isCorrectAnswer(String answer) {
-        String normalizedInput = answer.trim().toLowerCase();
-        String normalizedCorrect = this.correctAnswer.trim().toLowerCase();
+        return isCorrectAnswer(answerIndex(new String[]{optionA, optionB, optionC, optionD}, answer.trim()));
+    }
 
-        // Check if answer matches full text or letter code
-        return normalizedInput.equals(normalizedCorrect) ||
-                (normalizedInput.length() == 1 &&
-                        getOptionByLetter(normalizedInput.toUpperCase().charAt(0)).trim().toLowerCase()
-                                .equals(normalizedCorrect));
+    /**
+     * Returns the text form of everything in a QUESTION message after the progress
+     * prefix and before the time fields: "text|A|B|C|D|correct".
+     *
+     * @return the cached text body
+     */
+    public String textBody() {
+        String body = textBody;
+        if (body == null) {
+            textBody = body = text + '|' + optionA + '|' + optionB + '|' + optionC + '|' + optionD + '|' + correctAnswer;
+        }
+        return body;
+    }
+
+    /**
+     * Returns the encoded question text and options of a binary QUESTION frame.
+     *
+     * @return a fresh read-only view of the cached body, positioned at the start
+     */
+    public ByteBuffer binaryBody() {
+        ByteBuffer body = binaryBody;
+        if (body == null) {
+            binaryBody = body = ServerFrames.questionBody(text, new String[]{optionA, optionB, optionC, optionD})
+                    .asReadOnlyBuffer();
+        }
+        return body.duplicate();
     }
 
     /**
-     * Returns the answer option corresponding to the given letter.
+     * Returns the answer option at the given index.
      *
-     * @param letter the letter (A–D)
+     * @param index the index, 0 (A) to 3 (D)
      * @return the corresponding option text, or empty string if invalid
      */
-    private String getOptionByLetter(char letter) {
-        return switch (letter) {
-            case 'A' -> optionA;
-            case 'B' -> optionB;
-            case 'C' -> optionC;
-            case 'D' -> optionD;
+    private String getOption(int index) {
+        return switch (index) {
+            case 0 -> optionA;
+            case 1 -> optionB;
+            case 2 -> optionC;
+            case 3 -> optionD;
             default -> "";
         };
     }
@@ -0,0 +1,295 @@
+package org.example.server;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import org.example.logging.Log;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * The QuestionBank class holds every trivia question the server knows, parsed once
+ * from the CSV resource. The bank is immutable, so all rooms share the one instance
+ * without locking and a new room costs no parsing and no copies of the questions.
+ *
+ * Questions are grouped by category and difficulty in a {@link QuestionIndex}, and
+ * each room draws its own random game from it without copying anything.
+ *
+ * A deck on disk is named with the {@code trivia.deck} system property: a CSV file,
+ * a directory of them, or a pack compiled by {@link QuestionPackCompiler}, which the
+ * bank reads straight from the memory-mapped file instead of holding on the heap.
+ */
+public final class QuestionBank {
+    private static final String DEFAULT_RESOURCE = "/QuesAns.csv";
+    private static final Log LOG = Log.get("deck");
+    /**
+     * System property naming a deck file or directory to play instead of the bundled CSV.
+     */
+    public static final String DECK_PROPERTY = "trivia.deck";
+    /**
+     * File name suffix of compiled question packs.
+     */
+    public static final String PACK_SUFFIX = ".qpack";
+
+    private final List<Question> questions;
+    private final QuestionIndex index;
+
+    // Takes ownership of an already unmodifiable list, laid out in the index's bucket order
+    private QuestionBank(List<Question> questions, QuestionIndex index) {
+        this.questions = questions;
+        this.index = index;
+    }
+
+    // Loaded on first use, which the server forces at startup
+    private static final class Holder {
+        static final QuestionBank INSTANCE = loadConfigured();
+    }
+
+    // Reads the deck named by trivia.deck, or parses the bundled CSV
+    private static QuestionBank loadConfigured() {
+        String deck = System.getProperty(DECK_PROPERTY);
+        if (deck == null) {
+            return load(DEFAULT_RESOURCE);
+        }
+        try {
+            return read(Path.of(deck));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot load question deck " + deck, e);
+        }
+    }
+
+    /**
+     * Opens a compiled question pack. Only the header is read; questions are decoded
+     * from the mapped file as rooms ask for them.
+     *
+     * @param pack the pack file
+     * @return the bank
+     * @throws IOException if the file cannot be mapped or is not a valid pack
+     */
+    public static QuestionBank open(Path pack) throws IOException {
+        QuestionPack questions = QuestionPack.open(pack);
+        LOG.info("Opened question pack with {} questions", questions.size());
+        return new QuestionBank(questions, questions.index());
+    }
+
+    /**
+     * Reads a deck from disk: a compiled pack (*.qpack), a CSV file, or a directory
+     * whose CSV files are merged in name order. Unlike {@link #load}, any problem is an
+     * error, so a half-written deck is never mistaken for a small one.
+     *
+     * @param deck the deck file or directory
+     * @return the bank
+     * @throws IOException if the deck cannot be read, has a malformed row, or holds no questions
+     */
+    public static QuestionBank read(Path deck) throws IOException {
+        QuestionBank bank;
+        if (Files.isDirectory(deck)) {
+            List<Path> files;
+            try (Stream<Path> listing = Files.list(deck)) {
+                files = listing.filter(QuestionBank::isCsv).sorted().toList();
+            }
+            Map<String, List<Question>> buckets = new LinkedHashMap<>();
+            for (Path file : files) {
+                readCsvFile(file, buckets);
+            }
+            bank = fromBuckets(buckets);
+        } else if (deck.getFileName().toString().endsWith(PACK_SUFFIX)) {
+            bank = open(deck);
+        } else {
+            Map<String, List<Question>> buckets = new LinkedHashMap<>();
+            readCsvFile(deck, buckets);
+            bank = fromBuckets(buckets);
+        }
+        if (bank.size() == 0) {
+            throw new IOException("Deck has no questions: " + deck);
+        }
+        return bank;
+    }
+
+    /**
+     * Checks whether a file belongs in a deck directory.
+     *
+     * @param file the file
+     * @return true for CSV files
+     */
+    static boolean isCsv(Path file) {
+        return file.getFileName().toString().toLowerCase().endsWith(".csv");
+    }
+
+    /**
+     * Returns the process-wide bank, loading it on the first call.
+     * This is the deck the server started with; see {@link DeckWatcher} for later versions.
+     *
+     * @return the shared question bank
+     */
+    public static QuestionBank getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Loads trivia questions from a CSV resource using OpenCSV.
+     * Each row should contain at least 6 columns: question text, 4 options (A-D), and the correct answer,
+     * optionally followed by a category and a difficulty.
+     * A missing or unreadable file gives an empty bank rather than an error, as before.
+     *
+     * @param resource the path to the CSV file (must be in the resources folder)
+     * @return the loaded bank
+     */
+    public static QuestionBank load(String resource) {
+        // Buckets keyed by lower-case category and difficulty, in order of first appearance
+        Map<String, List<Question>> buckets = new LinkedHashMap<>();
+        try (InputStream is = QuestionBank.class.getResourceAsStream(resource);
+             InputStreamReader isr = new InputStreamReader(is, StandardCharsets.UTF_8)) {
+            readCsv(isr, buckets, false);
+        } catch (Exception e) {
+            LOG.error("Error loading questions from {}", resource, e);
+        }
+        QuestionBank bank = fromBuckets(buckets);
+        LOG.info("Loaded {} questions from CSV", bank.size());
+        return bank;
+    }
+
+    // Reads one CSV file strictly into the buckets
+    private static void readCsvFile(Path file, Map<String, List<Question>> buckets) throws IOException {
+        try (Reader input = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            readCsv(input, buckets, true);
+        } catch (CsvValidationException e) {
+            throw new IOException("Malformed CSV " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Adds every question of a CSV to its bucket; strict reads reject bad rows instead of skipping them
+    private static void readCsv(Reader input, Map<String, List<Question>> buckets, boolean strict)
+            throws IOException, CsvValidationException {
+        CSVReader reader = new CSVReader(input);
+        // Skip header row
+        reader.readNext();
+
+        String[] parts;
+        while ((parts = reader.readNext()) != null) {
+            Question question = parseRow(parts);
+            if (question != null) {
+                buckets.computeIfAbsent(bucketKey(question), key -> new ArrayList<>()).add(question);
+            } else if (strict && !(parts.length == 1 && parts[0].isBlank())) {
+                throw new IOException("Invalid question on line " + reader.getLinesRead());
+            }
+        }
+    }
+
+    // Lays the buckets out one after another and indexes them
+    private static QuestionBank fromBuckets(Map<String, List<Question>> buckets) {
+        List<Question> questions = new ArrayList<>();
+        String[] categories = new String[buckets.size()];
+        Difficulty[] difficulties = new Difficulty[buckets.size()];
+        int[] sizes = new int[buckets.size()];
+        int b = 0;
+        for (List<Question> bucket : buckets.values()) {
+            categories[b] = bucket.get(0).getCategory();
+            difficulties[b] = bucket.get(0).getDifficulty();
+            sizes[b++] = bucket.size();
+            questions.addAll(bucket);
+        }
+        return new QuestionBank(List.copyOf(questions), new QuestionIndex(categories, difficulties, sizes));
+    }
+
+    /**
+     * Builds a question from one CSV row: question text, 4 options (A-D), the correct answer,
+     * and optionally a category and a difficulty.
+     *
+     * @param parts the row's columns
+     * @return the question, or null if the row is too short or names an unknown difficulty
+     */
+    static Question parseRow(String[] parts) {
+        if (parts.length < 6) {
+            return null;
+        }
+        String category = parts.length > 6 && !parts[6].isBlank() ? parts[6].trim() : Question.DEFAULT_CATEGORY;
+        Difficulty difficulty;
+        try {
+            difficulty = Difficulty.parse(parts.length > 7 ? parts[7] : null);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return new Question(
+                parts[0].trim(),        // Question text
+                parts[1].trim(),        // Option 1
+                parts[2].trim(),        // Option 2
+                parts[3].trim(),        // Option 3
+                parts[4].trim(),        // Option 4
+                parts[5].trim(),        // Correct Answer
+                category,
+                difficulty);
+    }
+
+    /**
+     * Returns the key questions are bucketed by: category, ignoring case, and difficulty.
+     *
+     * @param question the question
+     * @return the bucket key
+     */
+    static String bucketKey(Question question) {
+        return question.getCategory().toLowerCase() + '\n' + question.getDifficulty();
+    }
+
+    /**
+     * Draws a room's questions: distinct, in random order, and all passing the filter.
+     *
+     * @param filter the category and difficulty to draw from
+     * @param count  how many questions to draw
+     * @param random the source of randomness
+     * @return the drawn question indexes; shorter than count if fewer questions match
+     */
+    public int[] sample(QuestionFilter filter, int count, RandomGenerator random) {
+        return index.sample(filter, count, random);
+    }
+
+    /**
+     * Returns the category and difficulty index of the bank.
+     *
+     * @return the index
+     */
+    public QuestionIndex index() {
+        return index;
+    }
+
+    /**
+     * Returns the question at the given position. Pack-backed banks decode a new
+     * instance on every call.
+     *
+     * @param index the position, from 0 to {@link #size()} - 1
+     * @return the question
+     */
+    public Question get(int index) {
+        return questions.get(index);
+    }
+
+    /**
+     * Returns the number of questions in the bank.
+     *
+     * @return the question count
+     */
+    public int size() {
+        return questions.size();
+    }
+
+    /**
+     * Returns every question, grouped by bucket.
+     *
+     * @return an unmodifiable list of the questions
+     */
+    public List<Question> questions() {
+        return questions;
+    }
+}
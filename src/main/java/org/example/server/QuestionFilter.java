@@ -0,0 +1,26 @@
+package org.example.server;
+
+/**
+ * The QuestionFilter record picks which questions a room may draw from.
+ *
+ * @param category   the category to draw from, ignoring case, or null for any
+ * @param difficulty the difficulty to draw from, or null for any
+ */
+public record QuestionFilter(String category, Difficulty difficulty) {
+    /**
+     * Accepts every question.
+     */
+    public static final QuestionFilter ANY = new QuestionFilter(null, null);
+
+    /**
+     * Checks whether questions of the given category and difficulty pass the filter.
+     *
+     * @param questionCategory   the question's category
+     * @param questionDifficulty the question's difficulty
+     * @return true if they pass
+     */
+    public boolean matches(String questionCategory, Difficulty questionDifficulty) {
+        return (category == null || category.equalsIgnoreCase(questionCategory))
+                && (difficulty == null || difficulty == questionDifficulty);
+    }
+}
@@ -0,0 +1,423 @@
+package org.example.server;
+
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The QuestionImporter class cleans a community deck before it is played or compiled.
+ * Rows are streamed from OpenCSV's iterator in batches to a fork/join pool, whose
+ * workers normalise whitespace, validate each question and compute its MinHash
+ * signature. The results are then taken in file order by a single thread, which drops
+ * near-duplicate questions using locality-sensitive hashing over the signatures. The
+ * output is a clean deck in the QuesAns.csv layout and a CSV report of every rejected row.
+ *
+ * Only a bounded number of batches is in flight and the dedupe keeps 16 ints per accepted
+ * question, so memory stays far below the size of the input.
+ *
+ * Usage: QuestionImporter input.csv clean.csv [rejected.csv]
+ */
+public final class QuestionImporter {
+    private static final int BATCH_ROWS = 4096;
+    // Rows a worker handles without splitting further
+    private static final int SPLIT_ROWS = 256;
+    // Shingles are overlapping runs of this many characters of the normalised question
+    private static final int SHINGLE_CHARS = 4;
+    private static final int SIGNATURE_HASHES = 16;
+    // Signature split into bands for LSH; two questions become candidates if any band matches
+    private static final int BANDS = 4;
+    private static final int ROWS_PER_BAND = SIGNATURE_HASHES / BANDS;
+    // Share of matching signature hashes (estimated Jaccard similarity) that counts as a duplicate
+    private static final double DUPLICATE_SIMILARITY = 0.8;
+    private static final String[] HEADER =
+            {"Question", "Option 1", "Option 2", "Option 3", "Option 4", "Correct Answer", "Category", "Difficulty"};
+
+    private QuestionImporter() {
+    }
+
+    /**
+     * Imports the deck named by the first argument.
+     *
+     * @param args the input CSV, the clean output CSV and optionally the rejection report
+     *             (defaults to the output name with ".rejected.csv")
+     * @throws IOException if a file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: QuestionImporter input.csv clean.csv [rejected.csv]");
+            System.exit(2);
+        }
+        Path output = Path.of(args[1]);
+        Path rejects = args.length > 2 ? Path.of(args[2])
+                : output.resolveSibling(output.getFileName().toString().replaceFirst("\\.csv$", "") + ".rejected.csv");
+        Summary summary = importDeck(Path.of(args[0]), output, rejects, ForkJoinPool.getCommonPoolParallelism());
+        System.out.printf("Read %d rows: %d accepted, %d rejected (%d near duplicates) in %d ms, %.0f rows/s%n",
+                summary.rows(), summary.accepted(), summary.rejected(), summary.duplicates(),
+                summary.nanos() / 1_000_000, summary.rowsPerSecond());
+        System.out.println("Clean deck: " + output + ", rejections: " + rejects);
+    }
+
+    /**
+     * The outcome of an import.
+     *
+     * @param rows       data rows read
+     * @param accepted   rows written to the clean deck
+     * @param rejected   rows written to the rejection report, duplicates included
+     * @param duplicates rows rejected as near duplicates of an earlier question
+     * @param nanos      wall-clock time taken
+     */
+    public record Summary(long rows, long accepted, long rejected, long duplicates, long nanos) {
+        /**
+         * Returns the import throughput.
+         *
+         * @return rows read per second
+         */
+        public double rowsPerSecond() {
+            return nanos == 0 ? 0 : rows * 1e9 / nanos;
+        }
+    }
+
+    /**
+     * Imports a deck: validates and deduplicates every row of the input, writing the
+     * survivors to the clean deck and the rest, with the reason, to the rejection report.
+     *
+     * @param input       the deck to import; its first row is a header
+     * @param output      the clean deck to write
+     * @param rejects     the rejection report to write
+     * @param parallelism number of fork/join workers
+     * @return what was imported
+     * @throws IOException if a file cannot be read or written, or the input is not valid CSV
+     */
+    public static Summary importDeck(Path input, Path output, Path rejects, int parallelism) throws IOException {
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (Reader in = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             CSVReader reader = new CSVReader(in);
+             Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+             CSVWriter deck = new CSVWriter(out);
+             Writer report = Files.newBufferedWriter(rejects, StandardCharsets.UTF_8);
+             CSVWriter rejections = new CSVWriter(report)) {
+            deck.writeNext(HEADER, false);
+            rejections.writeNext(new String[]{"Record", "Reason", "Question"}, false);
+            Deduplicator deduplicator = new Deduplicator();
+            long[] counts = new long[2];
+
+            // Results are taken in submission order, with at most a few batches per worker queued
+            ArrayDeque<ForkJoinTask<Candidate[]>> inFlight = new ArrayDeque<>();
+            int maxInFlight = parallelism * 2;
+            Iterator<String[]> rows = reader.iterator();
+            // Header row
+            if (rows.hasNext()) rows.next();
+            long record = 1;
+            while (rows.hasNext()) {
+                List<String[]> batch = new ArrayList<>(BATCH_ROWS);
+                while (batch.size() < BATCH_ROWS && rows.hasNext()) {
+                    batch.add(rows.next());
+                }
+                inFlight.add(pool.submit(prepare(batch, record)));
+                record += batch.size();
+                if (inFlight.size() >= maxInFlight) {
+                    collect(inFlight.poll().join(), deduplicator, deck, rejections, counts);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                collect(inFlight.poll().join(), deduplicator, deck, rejections, counts);
+            }
+            long rowsRead = record - 1;
+            return new Summary(rowsRead, rowsRead - counts[0], counts[0], counts[1], System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            // The iterator reports malformed CSV unchecked
+            if (e.getCause() instanceof IOException || e.getCause() instanceof CsvException) {
+                throw new IOException("Malformed CSV " + input + ": " + e.getCause().getMessage(), e.getCause());
+            }
+            throw e;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Wraps a batch in a fork/join task that prepares every row of it
+    private static ForkJoinTask<Candidate[]> prepare(List<String[]> batch, long firstRecord) {
+        Candidate[] candidates = new Candidate[batch.size()];
+        PrepareRows task = new PrepareRows(batch, firstRecord, candidates, 0, batch.size());
+        return ForkJoinTask.adapt(() -> {
+            task.invoke();
+            return candidates;
+        });
+    }
+
+    // Dedupes and writes out one prepared batch, in file order; counts[0] rejected, counts[1] duplicates
+    private static void collect(Candidate[] batch, Deduplicator deduplicator, CSVWriter deck,
+                                CSVWriter rejections, long[] counts) throws IOException {
+        for (Candidate candidate : batch) {
+            String reason = candidate.rejection();
+            if (reason == null) {
+                long original = deduplicator.add(candidate.record(), candidate.signature());
+                if (original < 0) {
+                    deck.writeNext(candidate.fields(), false);
+                    continue;
+                }
+                reason = "near duplicate of record " + original;
+                counts[1]++;
+            }
+            counts[0]++;
+            rejections.writeNext(new String[]{Long.toString(candidate.record()), reason,
+                    candidate.fields().length > 0 ? candidate.fields()[0] : ""}, false);
+        }
+        if (deck.checkError() || rejections.checkError()) {
+            throw new IOException("Failed writing the import output");
+        }
+    }
+
+    /**
+     * One row after normalisation: either its clean fields and signature, or why it was rejected.
+     *
+     * @param record    the row's position among the data rows, from 1
+     * @param fields    the normalised fields in the clean deck's layout
+     * @param signature the question's MinHash signature, or null if rejected
+     * @param rejection why the row was rejected, or null if it is valid
+     */
+    record Candidate(long record, String[] fields, int[] signature, String rejection) {
+    }
+
+    // Prepares a range of a batch, splitting it between workers when it is large
+    private static final class PrepareRows extends RecursiveAction {
+        private final List<String[]> rows;
+        private final long firstRecord;
+        private final Candidate[] out;
+        private final int from;
+        private final int to;
+
+        PrepareRows(List<String[]> rows, long firstRecord, Candidate[] out, int from, int to) {
+            this.rows = rows;
+            this.firstRecord = firstRecord;
+            this.out = out;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > SPLIT_ROWS) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PrepareRows(rows, firstRecord, out, from, middle),
+                        new PrepareRows(rows, firstRecord, out, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                out[i] = prepareRow(firstRecord + i, rows.get(i));
+            }
+        }
+    }
+
+    /**
+     * Normalises and validates one row and computes its signature.
+     *
+     * @param record the row's position among the data rows, from 1
+     * @param row    the row as read
+     * @return the prepared row
+     */
+    static Candidate prepareRow(long record, String[] row) {
+        String[] fields = new String[HEADER.length];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = i < row.length ? normalise(row[i]) : "";
+        }
+        if (row.length < 6) {
+            return new Candidate(record, fields, null, "fewer than 6 columns");
+        }
+        for (int i = 0; i < 5; i++) {
+            if (fields[i].isEmpty()) {
+                return new Candidate(record, fields, null, i == 0 ? "empty question" : "empty option " + i);
+            }
+        }
+        for (int i = 1; i < 5; i++) {
+            for (int j = i + 1; j < 5; j++) {
+                if (fields[i].equalsIgnoreCase(fields[j])) {
+                    return new Candidate(record, fields, null, "duplicate option \"" + fields[i] + "\"");
+                }
+            }
+        }
+        Question question = QuestionBank.parseRow(fields);
+        if (question == null) {
+            return new Candidate(record, fields, null, "unknown difficulty \"" + fields[7] + "\"");
+        }
+        if (question.getCorrectIndex() < 0) {
+            return new Candidate(record, fields, null, "correct answer \"" + fields[5] + "\" is not an option");
+        }
+        // Canonical form: the answer as its option's text, the category and difficulty spelled out
+        fields[5] = fields[1 + question.getCorrectIndex()];
+        fields[6] = question.getCategory();
+        fields[7] = question.getDifficulty().name().toLowerCase(Locale.ROOT);
+        return new Candidate(record, fields, signature(fields[0] + ' ' + fields[5]), null);
+    }
+
+    // Trims, drops a byte order mark and collapses runs of whitespace to one space
+    private static String normalise(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        boolean space = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\uFEFF') continue;
+            if (Character.isWhitespace(c) || Character.isSpaceChar(c)) {
+                space = out.length() > 0;
+            } else {
+                if (space) out.append(' ');
+                space = false;
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Computes the MinHash signature of a text: for each of the hash functions, the
+     * smallest hash over the text's character shingles. Case, punctuation and spacing
+     * are ignored, so reworded copies of a question share most shingles.
+     *
+     * @param text the text
+     * @return the signature
+     */
+    static int[] signature(String text) {
+        StringBuilder canonical = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                canonical.append(Character.toLowerCase(c));
+            } else if (canonical.length() > 0 && canonical.charAt(canonical.length() - 1) != ' ') {
+                canonical.append(' ');
+            }
+        }
+        int[] signature = new int[SIGNATURE_HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, canonical.length() - SHINGLE_CHARS + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = 0xcbf29ce484222325L;
+            for (int i = start; i < Math.min(start + SHINGLE_CHARS, canonical.length()); i++) {
+                shingle = (shingle ^ canonical.charAt(i)) * 0x100000001b3L;
+            }
+            for (int h = 0; h < SIGNATURE_HASHES; h++) {
+                int value = (int) (mix(shingle + h * 0x9E3779B97F4A7C15L) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    // SplitMix64 finaliser; each seed offset gives an independent hash function
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Remembers accepted questions by signature and finds near duplicates among them.
+     * Each band of a signature is hashed into an open-addressing table of primitive
+     * arrays, so the bookkeeping per question is a few ints rather than boxed map entries.
+     */
+    static final class Deduplicator {
+        private int[] signatures = new int[1024 * SIGNATURE_HASHES];
+        private long[] records = new long[1024];
+        private int count;
+        // Band table: key is band number and band hash, value the first question with that band
+        private long[] keys = new long[4096];
+        private int[] owners = new int[4096];
+        private int used;
+
+        /**
+         * Adds a question unless it is a near duplicate of one already added.
+         *
+         * @param record    the question's record number
+         * @param signature its MinHash signature
+         * @return -1 if it was added, or the record number of the question it duplicates
+         */
+        long add(long record, int[] signature) {
+            long[] bandKeys = new long[BANDS];
+            for (int band = 0; band < BANDS; band++) {
+                long key = band;
+                for (int i = band * ROWS_PER_BAND; i < (band + 1) * ROWS_PER_BAND; i++) {
+                    key = key * 0x100000001b3L + signature[i];
+                }
+                // Zero marks an empty slot
+                bandKeys[band] = key == 0 ? 1 : key;
+                int owner = find(bandKeys[band]);
+                if (owner >= 0 && similarity(owner, signature) >= DUPLICATE_SIMILARITY) {
+                    return records[owner];
+                }
+            }
+            int id = count++;
+            if (count > records.length) {
+                records = Arrays.copyOf(records, records.length * 2);
+                signatures = Arrays.copyOf(signatures, signatures.length * 2);
+            }
+            records[id] = record;
+            System.arraycopy(signature, 0, signatures, id * SIGNATURE_HASHES, SIGNATURE_HASHES);
+            for (long key : bandKeys) {
+                insert(key, id);
+            }
+            return -1;
+        }
+
+        // Share of hash positions where a stored signature agrees with the given one
+        private double similarity(int id, int[] signature) {
+            int same = 0;
+            for (int h = 0; h < SIGNATURE_HASHES; h++) {
+                if (signatures[id * SIGNATURE_HASHES + h] == signature[h]) same++;
+            }
+            return (double) same / SIGNATURE_HASHES;
+        }
+
+        private int find(long key) {
+            int mask = keys.length - 1;
+            for (int slot = (int) mix(key) & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) return owners[slot];
+            }
+            return -1;
+        }
+
+        // Keeps the first owner of a band; later questions sharing it are still found through it
+        private void insert(long key, int id) {
+            if ((used + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) return;
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            owners[slot] = id;
+            used++;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldOwners = owners;
+            keys = new long[oldKeys.length * 2];
+            owners = new int[oldKeys.length * 2];
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) insert(oldKeys[i], oldOwners[i]);
+            }
+        }
+    }
+}
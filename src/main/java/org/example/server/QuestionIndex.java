@@ -0,0 +1,217 @@
+package org.example.server;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * The QuestionIndex class groups a bank's questions into buckets by category and
+ * difficulty. Banks store each bucket's questions next to each other, so a bucket is
+ * just a range of question indexes and the whole index is a few small arrays, however
+ * many questions there are.
+ *
+ * Rooms draw their games from it with {@link #sample}, a partial Fisher–Yates shuffle
+ * over the matching ranges that costs O(k) for k questions and never copies the bank.
+ * Sampling works on primitive int arrays only, so drawing a game boxes nothing.
+ */
+public final class QuestionIndex {
+    private final String[] categories;
+    private final Difficulty[] difficulties;
+    // starts[b] is the first question of bucket b; starts[bucketCount] is the question count
+    private final int[] starts;
+    // Up to this many matches, sampling shuffles a dense copy of the match positions
+    private static final int DENSE_SAMPLE_LIMIT = 4096;
+
+    /**
+     * Creates an index over buckets laid out one after another.
+     *
+     * @param categories   each bucket's category
+     * @param difficulties each bucket's difficulty
+     * @param sizes        the number of questions in each bucket
+     */
+    public QuestionIndex(String[] categories, Difficulty[] difficulties, int[] sizes) {
+        if (categories.length != difficulties.length || categories.length != sizes.length) {
+            throw new IllegalArgumentException("Bucket arrays differ in length");
+        }
+        this.categories = categories.clone();
+        this.difficulties = difficulties.clone();
+        this.starts = new int[sizes.length + 1];
+        for (int b = 0; b < sizes.length; b++) {
+            starts[b + 1] = Math.addExact(starts[b], sizes[b]);
+        }
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return the bucket count
+     */
+    public int bucketCount() {
+        return categories.length;
+    }
+
+    /**
+     * Returns the number of questions the index covers.
+     *
+     * @return the question count
+     */
+    public int questionCount() {
+        return starts[categories.length];
+    }
+
+    /**
+     * Finds the bucket holding a question.
+     *
+     * @param questionIndex the question's position in the bank
+     * @return the bucket number
+     */
+    public int bucketOf(int questionIndex) {
+        int found = Arrays.binarySearch(starts, questionIndex);
+        // An exact hit may be the start of empty buckets; take the last bucket starting there
+        if (found >= 0) {
+            while (found + 1 < categories.length && starts[found + 1] == questionIndex) {
+                found++;
+            }
+            return found;
+        }
+        return -found - 2;
+    }
+
+    /**
+     * Returns a bucket's category.
+     *
+     * @param bucket the bucket number
+     * @return the category
+     */
+    public String category(int bucket) {
+        return categories[bucket];
+    }
+
+    /**
+     * Returns a bucket's difficulty.
+     *
+     * @param bucket the bucket number
+     * @return the difficulty
+     */
+    public Difficulty difficulty(int bucket) {
+        return difficulties[bucket];
+    }
+
+    /**
+     * Counts the questions that pass a filter.
+     *
+     * @param filter the filter
+     * @return the number of matching questions
+     */
+    public int count(QuestionFilter filter) {
+        int total = 0;
+        for (int b = 0; b < categories.length; b++) {
+            if (filter.matches(categories[b], difficulties[b])) {
+                total += starts[b + 1] - starts[b];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Draws distinct questions that pass a filter, in random order.
+     *
+     * @param filter the filter
+     * @param count  how many questions to draw
+     * @param random the source of randomness
+     * @return the drawn question indexes; shorter than count if fewer questions match
+     */
+    public int[] sample(QuestionFilter filter, int count, RandomGenerator random) {
+        // Matching buckets as ranges, with where each starts among the matches
+        int[] rangeStarts = new int[categories.length];
+        int[] matchOffsets = new int[categories.length + 1];
+        int ranges = 0;
+        for (int b = 0; b < categories.length; b++) {
+            int size = starts[b + 1] - starts[b];
+            if (size > 0 && filter.matches(categories[b], difficulties[b])) {
+                rangeStarts[ranges] = starts[b];
+                matchOffsets[ranges + 1] = matchOffsets[ranges] + size;
+                ranges++;
+            }
+        }
+        int matching = matchOffsets[ranges];
+        int drawn = Math.min(Math.max(count, 0), matching);
+
+        int[] picks = new int[drawn];
+        if (matching <= DENSE_SAMPLE_LIMIT) {
+            // Small enough to shuffle a plain copy of the positions
+            int[] positions = new int[matching];
+            for (int i = 0; i < matching; i++) {
+                positions[i] = i;
+            }
+            for (int i = 0; i < drawn; i++) {
+                int j = i + random.nextInt(matching - i);
+                int atJ = positions[j];
+                positions[j] = positions[i];
+                picks[i] = toQuestionIndex(atJ, rangeStarts, matchOffsets, ranges);
+            }
+            return picks;
+        }
+
+        // Fisher–Yates over the virtual array 0..matching-1; only displaced slots are stored
+        DisplacedSlots displaced = new DisplacedSlots(drawn);
+        for (int i = 0; i < drawn; i++) {
+            int j = i + random.nextInt(matching - i);
+            int atJ = displaced.get(j);
+            displaced.put(j, displaced.get(i));
+            picks[i] = toQuestionIndex(atJ, rangeStarts, matchOffsets, ranges);
+        }
+        return picks;
+    }
+
+    // Maps a position among the matching questions back to a bank index
+    private static int toQuestionIndex(int match, int[] rangeStarts, int[] matchOffsets, int ranges) {
+        int range = Arrays.binarySearch(matchOffsets, 0, ranges + 1, match);
+        if (range < 0) {
+            range = -range - 2;
+        }
+        return rangeStarts[range] + match - matchOffsets[range];
+    }
+
+    /**
+     * The slots a partial shuffle has moved, as an open-addressing map from int to int.
+     * A slot that was never moved holds its own position. At most one slot is added per
+     * draw, so a table of twice the draw count never fills up.
+     */
+    private static final class DisplacedSlots {
+        private static final int EMPTY = -1;
+        private final int[] keys;
+        private final int[] values;
+        private final int mask;
+
+        DisplacedSlots(int draws) {
+            int capacity = Integer.highestOneBit(Math.max(4, draws) * 2 - 1) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            mask = capacity - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        // The value now at a slot
+        int get(int slot) {
+            for (int i = mix(slot) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == slot) return values[i];
+                if (keys[i] == EMPTY) return slot;
+            }
+        }
+
+        void put(int slot, int value) {
+            int i = mix(slot) & mask;
+            while (keys[i] != EMPTY && keys[i] != slot) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = slot;
+            values[i] = value;
+        }
+
+        // Spreads consecutive slots across the table
+        private static int mix(int slot) {
+            int h = slot * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.server;
+
+import org.example.protocol.WireCodec;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * The QuestionPack class is a read-only list of questions backed by a memory-mapped
+ * pack file written by {@link QuestionPackCompiler}. Opening a pack only checks its
+ * header; each question is decoded from the mapping when it is asked for, so neither
+ * startup time nor heap use grows with the size of the deck.
+ *
+ * Pack layout (all integers big-endian):
+ *
+ *   [magic "TQPK": int][version: int][question count: int][index position: int][bucket position: int]
+ *   [records ...]
+ *   [index: one int record position per question, grouped by bucket]
+ *   [buckets: varint count, then per bucket its category, difficulty byte and varint size]
+ *
+ * A record is the correct option's index (0 to 3) as one byte followed by the question
+ * text and the four options, each a varint length and UTF-8 bytes as in the wire protocol.
+ * A question's category and difficulty come from its bucket, so records do not repeat them.
+ */
+public final class QuestionPack extends AbstractList<Question> implements RandomAccess {
+    /**
+     * First four bytes of every pack: "TQPK".
+     */
+    public static final int MAGIC = 0x5451504B;
+    /**
+     * The pack format this class reads and {@link QuestionPackCompiler} writes.
+     */
+    public static final int VERSION = 2;
+    /**
+     * Size of the fixed header in bytes.
+     */
+    public static final int HEADER_BYTES = 20;
+
+    private final ByteBuffer data;
+    private final int count;
+    private final int indexPosition;
+    private final QuestionIndex buckets;
+
+    private QuestionPack(ByteBuffer data, int count, int indexPosition, QuestionIndex buckets) {
+        this.data = data;
+        this.count = count;
+        this.indexPosition = indexPosition;
+        this.buckets = buckets;
+    }
+
+    /**
+     * Maps a pack file, checks its header and reads its bucket table.
+     *
+     * @param file the pack file
+     * @return the pack
+     * @throws IOException if the file cannot be read, is not a pack, or is too large to map
+     */
+    public static QuestionPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Question pack larger than 2 GB: " + file);
+            }
+            if (size < HEADER_BYTES) {
+                throw new IOException("Not a question pack: " + file);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (data.getInt(0) != MAGIC) {
+                throw new IOException("Not a question pack: " + file);
+            }
+            if (data.getInt(4) != VERSION) {
+                throw new IOException("Unsupported question pack version " + data.getInt(4) + ": " + file);
+            }
+            int count = data.getInt(8);
+            int indexPosition = data.getInt(12);
+            int bucketPosition = data.getInt(16);
+            if (count < 0 || indexPosition < HEADER_BYTES || (long) indexPosition + 4L * count != bucketPosition
+                    || bucketPosition > size) {
+                throw new IOException("Corrupt question pack header: " + file);
+            }
+            QuestionIndex index;
+            try {
+                index = readBuckets(data.duplicate().position(bucketPosition));
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt question pack buckets: " + file, e);
+            }
+            if (index.questionCount() != count) {
+                throw new IOException("Question pack buckets do not cover its questions: " + file);
+            }
+            return new QuestionPack(data.asReadOnlyBuffer(), count, indexPosition, index);
+        }
+    }
+
+    // Reads the bucket table; it has one entry per category and difficulty, not per question
+    private static QuestionIndex readBuckets(ByteBuffer table) {
+        int buckets = WireCodec.getVarInt(table);
+        String[] categories = new String[buckets];
+        Difficulty[] difficulties = new Difficulty[buckets];
+        int[] sizes = new int[buckets];
+        for (int b = 0; b < buckets; b++) {
+            categories[b] = WireCodec.getString(table);
+            difficulties[b] = Difficulty.values()[table.get()];
+            sizes[b] = WireCodec.getVarInt(table);
+        }
+        return new QuestionIndex(categories, difficulties, sizes);
+    }
+
+    /**
+     * Returns the pack's category and difficulty index.
+     *
+     * @return the index
+     */
+    public QuestionIndex index() {
+        return buckets;
+    }
+
+    /**
+     * Decodes the question at the given position. Safe to call from any thread.
+     *
+     * @param index the position, from 0 to {@link #size()} - 1
+     * @return a freshly decoded question
+     * @throws IllegalStateException if the record is corrupt
+     */
+    @Override
+    public Question get(int index) {
+        Objects.checkIndex(index, count);
+        int position = data.getInt(indexPosition + 4 * index);
+        try {
+            // Each call reads through its own view, so concurrent readers never share a position
+            ByteBuffer record = data.duplicate().limit(indexPosition).position(position);
+            int correct = record.get();
+            String text = WireCodec.getString(record);
+            String optionA = WireCodec.getString(record);
+            String optionB = WireCodec.getString(record);
+            String optionC = WireCodec.getString(record);
+            String optionD = WireCodec.getString(record);
+            if (correct < 0 || correct > 3) {
+                throw new IllegalArgumentException("Bad correct answer index " + correct);
+            }
+            int bucket = buckets.bucketOf(index);
+            return new Question(text, optionA, optionB, optionC, optionD, correct,
+                    buckets.category(bucket), buckets.difficulty(bucket));
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Corrupt question record " + index, e);
+        }
+    }
+
+    /**
+     * Returns the number of questions in the pack.
+     *
+     * @return the question count
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+}
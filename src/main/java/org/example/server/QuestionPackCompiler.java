@@ -0,0 +1,215 @@
+package org.example.server;
+
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvValidationException;
+import org.example.protocol.WireCodec;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The QuestionPackCompiler class turns a question CSV in the QuesAns.csv layout
+ * (question, four options, correct answer; one header row) into the binary pack read
+ * by {@link QuestionPack}. Rows are streamed, so decks far larger than the heap compile
+ * fine. The correct answer may be given as an option's text or as a letter A to D; it is
+ * resolved to the option's index here, and rows where it matches no option are skipped.
+ * The optional category and difficulty columns decide each question's bucket; the index
+ * is written grouped by bucket so the server can sample buckets as ranges.
+ *
+ * Usage: QuestionPackCompiler input.csv output.qpack
+ */
+public final class QuestionPackCompiler {
+    // Records are written through this buffer in batches
+    private static final int WRITE_BUFFER_BYTES = 64 * 1024;
+
+    private QuestionPackCompiler() {
+    }
+
+    /**
+     * Compiles the CSV named by the first argument into the pack named by the second.
+     *
+     * @param args the input CSV path and the output pack path
+     * @throws IOException if either file cannot be read or written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: QuestionPackCompiler input.csv output.qpack");
+            System.exit(2);
+        }
+        long start = System.nanoTime();
+        int count = compile(Path.of(args[0]), Path.of(args[1]));
+        System.out.printf("Compiled %d questions into %s (%d bytes) in %d ms%n",
+                count, args[1], Files.size(Path.of(args[1])), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Compiles a question CSV into a pack file, replacing the file if it exists.
+     * The pack is written beside the target and renamed over it, so a server that has
+     * the old pack mapped keeps reading intact data.
+     *
+     * @param csv  the input CSV
+     * @param pack the output pack
+     * @return the number of questions written
+     * @throws IOException if either file cannot be read or written, or the pack would exceed 2 GB
+     */
+    public static int compile(Path csv, Path pack) throws IOException {
+        Path temp = pack.resolveSibling(pack.getFileName() + ".tmp");
+        try {
+            int count = write(csv, temp);
+            Files.move(temp, pack, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    // Writes the pack for a CSV to the given file
+    private static int write(Path csv, Path pack) throws IOException {
+        try (Reader input = Files.newBufferedReader(csv, StandardCharsets.UTF_8);
+             CSVReader reader = new CSVReader(input);
+             FileChannel out = FileChannel.open(pack, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            // Header row
+            reader.readNext();
+
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_BYTES);
+            // The header is rewritten once the count and index position are known
+            buffer.position(QuestionPack.HEADER_BYTES);
+            long written = 0;
+            int[] positions = new int[1024];
+            int[] bucketOf = new int[1024];
+            Map<String, Integer> bucketIds = new LinkedHashMap<>();
+            List<Question> bucketSamples = new ArrayList<>();
+            int count = 0;
+            int skipped = 0;
+            String[] row;
+            while ((row = reader.readNext()) != null) {
+                Question question = QuestionBank.parseRow(row);
+                if (question == null) {
+                    skipped++;
+                    continue;
+                }
+                int correct = question.getCorrectIndex();
+                if (correct < 0) {
+                    System.err.println("Skipping question whose answer matches no option: " + question.getText());
+                    skipped++;
+                    continue;
+                }
+                String[] fields = {question.getText(), question.getOptionA(), question.getOptionB(),
+                        question.getOptionC(), question.getOptionD()};
+
+                int recordSize = 1;
+                for (String field : fields) {
+                    recordSize += WireCodec.stringSize(field);
+                }
+                if (recordSize > buffer.remaining()) {
+                    written += drain(buffer, out);
+                    if (recordSize > buffer.capacity()) {
+                        buffer = ByteBuffer.allocate(recordSize);
+                    }
+                }
+                long position = written + buffer.position();
+                if (position + recordSize > Integer.MAX_VALUE) {
+                    throw new IOException("Question pack would exceed 2 GB at row " + (count + skipped + 1));
+                }
+                if (count == positions.length) {
+                    positions = Arrays.copyOf(positions, count * 2);
+                    bucketOf = Arrays.copyOf(bucketOf, count * 2);
+                }
+                bucketOf[count] = bucketIds.computeIfAbsent(QuestionBank.bucketKey(question), key -> {
+                    bucketSamples.add(question);
+                    return bucketSamples.size() - 1;
+                });
+                positions[count++] = (int) position;
+                buffer.put((byte) correct);
+                for (String field : fields) {
+                    WireCodec.putString(buffer, field);
+                }
+            }
+            written += drain(buffer, out);
+
+            long indexPosition = written;
+            long bucketPosition = indexPosition + 4L * count;
+            if (bucketPosition > Integer.MAX_VALUE) {
+                throw new IOException("Question pack would exceed 2 GB");
+            }
+
+            // Counting sort of the record positions by bucket
+            int buckets = bucketSamples.size();
+            int[] sizes = new int[buckets];
+            for (int i = 0; i < count; i++) {
+                sizes[bucketOf[i]]++;
+            }
+            int[] next = new int[buckets];
+            for (int b = 1; b < buckets; b++) {
+                next[b] = next[b - 1] + sizes[b - 1];
+            }
+            int[] grouped = new int[count];
+            for (int i = 0; i < count; i++) {
+                grouped[next[bucketOf[i]]++] = positions[i];
+            }
+            for (int i = 0; i < count; i++) {
+                if (buffer.remaining() < Integer.BYTES) {
+                    written += drain(buffer, out);
+                }
+                buffer.putInt(grouped[i]);
+            }
+
+            if (buffer.remaining() < WireCodec.MAX_VARINT_BYTES) {
+                drain(buffer, out);
+            }
+            WireCodec.putVarInt(buffer, buckets);
+            for (int b = 0; b < buckets; b++) {
+                Question sample = bucketSamples.get(b);
+                int entrySize = WireCodec.stringSize(sample.getCategory()) + 1 + WireCodec.MAX_VARINT_BYTES;
+                if (buffer.remaining() < entrySize) {
+                    drain(buffer, out);
+                }
+                WireCodec.putString(buffer, sample.getCategory());
+                buffer.put((byte) sample.getDifficulty().ordinal());
+                WireCodec.putVarInt(buffer, sizes[b]);
+            }
+            drain(buffer, out);
+
+            ByteBuffer header = ByteBuffer.allocate(QuestionPack.HEADER_BYTES)
+                    .putInt(QuestionPack.MAGIC)
+                    .putInt(QuestionPack.VERSION)
+                    .putInt(count)
+                    .putInt((int) indexPosition)
+                    .putInt((int) bucketPosition)
+                    .flip();
+            while (header.hasRemaining()) {
+                out.write(header, header.position());
+            }
+            if (skipped > 0) {
+                System.err.println("Skipped " + skipped + " rows");
+            }
+            return count;
+        } catch (CsvValidationException e) {
+            throw new IOException("Malformed CSV " + csv + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Writes out everything in the buffer and returns how many bytes that was
+    private static int drain(ByteBuffer buffer, FileChannel out) throws IOException {
+        buffer.flip();
+        int bytes = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+        return bytes;
+    }
+}
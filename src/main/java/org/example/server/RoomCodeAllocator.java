@@ -0,0 +1,154 @@
+package org.example.server;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * The RoomCodeAllocator class hands out the four-character room codes. Allocating and
+ * releasing a code are both O(1), however full the code space is.
+ *
+ * The 36^4 possible codes are kept in one array split in two: the free codes come first,
+ * the codes in use after them. Allocation picks a random free slot and swaps it to the
+ * boundary (a Fisher–Yates step); release swaps the code back. A second array records where
+ * each code sits, and both arrays are encoded so that all-zero means "code i is at slot i",
+ * so nothing has to be filled in up front. Codes are drawn with {@link SecureRandom}, so
+ * players cannot guess which room will be created next.
+ */
+public final class RoomCodeAllocator {
+    /**
+     * Characters room codes are made of.
+     */
+    public static final String ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+    /**
+     * Number of characters in a room code.
+     */
+    public static final int CODE_LENGTH = 4;
+    /**
+     * Number of distinct room codes.
+     */
+    public static final int CAPACITY = (int) Math.pow(ALPHABET.length(), CODE_LENGTH);
+
+    private final RandomGenerator random;
+    // slotCode[s] - s is the code held in slot s; slots below free hold the free codes
+    private final int[] slotCode = new int[CAPACITY];
+    // codeSlot[c] - c is the slot holding code c
+    private final int[] codeSlot = new int[CAPACITY];
+    private int free = CAPACITY;
+
+    /**
+     * Creates an allocator with every code free, drawing codes from a {@link SecureRandom}.
+     */
+    public RoomCodeAllocator() {
+        this(new SecureRandom());
+    }
+
+    /**
+     * Creates an allocator with every code free.
+     *
+     * @param random the source of randomness used to pick codes
+     */
+    public RoomCodeAllocator(RandomGenerator random) {
+        this.random = random;
+    }
+
+    /**
+     * Takes a random free code.
+     *
+     * @return the code, or null if every code is in use
+     */
+    public synchronized String allocate() {
+        if (free == 0) return null;
+        int slot = random.nextInt(free);
+        int code = codeAt(slot);
+        // Move the chosen code to the first slot of the in-use part
+        swap(slot, --free);
+        return toCode(code);
+    }
+
+    /**
+     * Returns a code to the free part so a later room can use it.
+     *
+     * @param code the code to release
+     * @return true if the code was in use, false if it was already free or not a valid code
+     */
+    public synchronized boolean release(String code) {
+        int value = toIndex(code);
+        if (value < 0) return false;
+        int slot = slotOf(value);
+        if (slot < free) return false;
+        // Swap it with the first in-use slot, then grow the free part over that slot
+        swap(slot, free++);
+        return true;
+    }
+
+    /**
+     * Reports whether a code is currently allocated.
+     *
+     * @param code the code
+     * @return true if the code is in use
+     */
+    public synchronized boolean isAllocated(String code) {
+        int value = toIndex(code);
+        return value >= 0 && slotOf(value) >= free;
+    }
+
+    /**
+     * Returns the number of codes still free.
+     *
+     * @return the free code count
+     */
+    public synchronized int available() {
+        return free;
+    }
+
+    private int codeAt(int slot) {
+        return slotCode[slot] + slot;
+    }
+
+    private int slotOf(int code) {
+        return codeSlot[code] + code;
+    }
+
+    // Exchanges the codes in two slots and updates where each now lives
+    private void swap(int a, int b) {
+        if (a == b) return;
+        int codeA = codeAt(a);
+        int codeB = codeAt(b);
+        slotCode[a] = codeB - a;
+        slotCode[b] = codeA - b;
+        codeSlot[codeA] = b - codeA;
+        codeSlot[codeB] = a - codeB;
+    }
+
+    /**
+     * Spells out a code number.
+     *
+     * @param index a number from 0 to {@link #CAPACITY} - 1
+     * @return the code
+     */
+    static String toCode(int index) {
+        char[] chars = new char[CODE_LENGTH];
+        for (int i = CODE_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt(index % ALPHABET.length());
+            index /= ALPHABET.length();
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Turns a code back into its number.
+     *
+     * @param code the code
+     * @return its number, or -1 if it is not a valid code
+     */
+    static int toIndex(String code) {
+        if (code == null || code.length() != CODE_LENGTH) return -1;
+        int index = 0;
+        for (int i = 0; i < CODE_LENGTH; i++) {
+            int digit = ALPHABET.indexOf(code.charAt(i));
+            if (digit < 0) return -1;
+            index = index * ALPHABET.length() + digit;
+        }
+        return index;
+    }
+}
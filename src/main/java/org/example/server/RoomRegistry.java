@@ -0,0 +1,160 @@
+package org.example.server;
+
+import org.example.logging.Log;
+import org.example.metrics.ServerMetrics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The RoomRegistry class holds the server's live rooms by code. Lookups are plain
+ * {@link ConcurrentHashMap} reads and never lock; creating a room allocates a code and does one put.
+ *
+ * A reaper sweeps the rooms on the shared timer and evicts the ones nobody is using:
+ * rooms every player has left, finished games still showing their final scores, and
+ * rooms where nothing has happened for a long time. An evicted room is closed, which
+ * cancels its timers and releases its question bank, and its code goes back to the
+ * {@link RoomCodeAllocator} for a new room.
+ */
+public final class RoomRegistry {
+    // The reaper never sweeps less often than this, so short TTLs are honoured promptly
+    private static final long MAX_SWEEP_SECONDS = 10;
+    private static final ServerMetrics METRICS = ServerMetrics.getInstance();
+    private static final Log LOG = Log.get("room");
+
+    private final Map<String, GameRoom> rooms = new ConcurrentHashMap<>();
+    private final RoomCodeAllocator codes = new RoomCodeAllocator();
+    private final long emptyTtlNanos;
+    private final long finishedTtlNanos;
+    private final long idleTtlNanos;
+    private HashedWheelTimer.Timeout reaper;
+
+    /**
+     * Creates a registry with the given eviction times.
+     *
+     * @param emptyTtl    how long a room with no human players is kept
+     * @param finishedTtl how long a room is kept after its game has ended with nothing else happening
+     * @param idleTtl     how long any room is kept with nothing happening in it
+     * @param unit        unit of the three times
+     */
+    public RoomRegistry(long emptyTtl, long finishedTtl, long idleTtl, TimeUnit unit) {
+        this.emptyTtlNanos = unit.toNanos(emptyTtl);
+        this.finishedTtlNanos = unit.toNanos(finishedTtl);
+        this.idleTtlNanos = unit.toNanos(idleTtl);
+    }
+
+    /**
+     * Builds a registry from the {@code trivia.room.emptyTtl}, {@code trivia.room.finishedTtl}
+     * and {@code trivia.room.idleTtl} system properties, in seconds. Empty rooms are kept
+     * for a minute, finished games for ten minutes and idle rooms for half an hour by default.
+     *
+     * @return the configured registry
+     */
+    public static RoomRegistry fromSystemProperties() {
+        return new RoomRegistry(
+                Long.getLong("trivia.room.emptyTtl", 60),
+                Long.getLong("trivia.room.finishedTtl", 600),
+                Long.getLong("trivia.room.idleTtl", 1800),
+                TimeUnit.SECONDS);
+    }
+
+    /**
+     * Returns the room with the given code.
+     *
+     * @param code the room code
+     * @return the room, or null if there is none
+     */
+    public GameRoom get(String code) {
+        return rooms.get(code);
+    }
+
+    /**
+     * Creates and registers a room under a newly allocated code.
+     *
+     * @param factory builds the room for the code it is given
+     * @return the new room, or null if every room code is in use
+     */
+    public GameRoom create(Function<String, GameRoom> factory) {
+        String code = codes.allocate();
+        if (code == null) return null;
+        GameRoom room = factory.apply(code);
+        rooms.put(code, room);
+        METRICS.roomOpened();
+        return room;
+    }
+
+    /**
+     * Returns the number of live rooms.
+     *
+     * @return the room count
+     */
+    public int size() {
+        return rooms.size();
+    }
+
+    /**
+     * Starts sweeping for rooms to evict on the given timer.
+     *
+     * @param timer the timer to run the sweeps on
+     */
+    public synchronized void startReaper(HashedWheelTimer timer) {
+        if (reaper != null) return;
+        long period = Math.max(TimeUnit.SECONDS.toNanos(1),
+                Math.min(TimeUnit.SECONDS.toNanos(MAX_SWEEP_SECONDS),
+                        Math.min(emptyTtlNanos, Math.min(finishedTtlNanos, idleTtlNanos)) / 2));
+        reaper = timer.scheduleAtFixedRate(this::sweep, period, period, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Evicts every room that has outlived its TTL.
+     *
+     * @return the number of rooms evicted
+     */
+    public int sweep() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (GameRoom room : rooms.values()) {
+            String reason = evictionReason(room, now);
+            if (reason != null && evict(room, reason)) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            LOG.info("Evicted {} rooms; {} remain", evicted, rooms.size());
+        }
+        return evicted;
+    }
+
+    // Says why a room should go, or null if it should stay
+    private String evictionReason(GameRoom room, long now) {
+        long idle = room.idleNanos(now);
+        if (room.humanPlayerCount() == 0 && idle >= emptyTtlNanos) {
+            return "Room closed: everyone has left.";
+        }
+        if (room.getRoundPhase() == RoundPhase.ENDED && idle >= finishedTtlNanos) {
+            return "Room closed: the game has finished.";
+        }
+        if (idle >= idleTtlNanos) {
+            return "Room closed due to inactivity.";
+        }
+        return null;
+    }
+
+    /**
+     * Removes a room, closes it and frees its code. Only the room registered under its
+     * code is removed, so a newer room that reuses the code is left alone.
+     *
+     * @param room   the room to evict
+     * @param reason told to any players still in the room
+     * @return true if the room was still registered
+     */
+    public boolean evict(GameRoom room, String reason) {
+        if (!rooms.remove(room.getCode(), room)) return false;
+        METRICS.roomClosed();
+        room.close(reason);
+        codes.release(room.getCode());
+        return true;
+    }
+}
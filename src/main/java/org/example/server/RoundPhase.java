@@ -0,0 +1,24 @@
+package org.example.server;
+
+/**
+ * The RoundPhase enum lists the phases a game room moves through:
+ * LOBBY, then QUESTION_OPEN and REVEAL for every question, then ENDED.
+ */
+public enum RoundPhase {
+    /**
+     * Players are gathering; no question has been asked yet.
+     */
+    LOBBY,
+    /**
+     * A question is on screen and answers are being accepted.
+     */
+    QUESTION_OPEN,
+    /**
+     * The question is closed and its answer is being shown.
+     */
+    REVEAL,
+    /**
+     * All questions have been asked and the final scores sent.
+     */
+    ENDED
+}
@@ -0,0 +1,267 @@
+package org.example.server;
+
+import org.example.protocol.MessageType;
+import org.example.protocol.ServerFrames;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The ServerMessage class is one message to clients, in both wire protocols.
+ * Each form is encoded at most once, the first time a client speaking that protocol
+ * needs it. The encoded bytes are immutable and shared: every recipient's outbound queue
+ * gets its own read-only view of the same buffer, so broadcasting to a room costs one
+ * encode per protocol regardless of how many players are in it.
+ */
+public final class ServerMessage {
+    private final String text;
+    private final boolean droppable;
+    private final Supplier<ByteBuffer> binaryEncoder;
+    // Benign races: two threads may both encode, and either result is equivalent
+    private volatile ByteBuffer textFrame;
+    private volatile ByteBuffer binaryFrame;
+
+    private ServerMessage(String text, boolean droppable, Supplier<ByteBuffer> binaryEncoder) {
+        this.text = text;
+        this.droppable = droppable;
+        this.binaryEncoder = binaryEncoder;
+    }
+
+    /**
+     * Creates a free-form text message that must reach the client.
+     *
+     * @param text the message line, without a line terminator
+     * @return the message
+     */
+    public static ServerMessage of(String text) {
+        return new ServerMessage(text, false, () -> ServerFrames.text(text));
+    }
+
+    /**
+     * Creates the message confirming a player joined a room.
+     *
+     * @param code the room code
+     * @return the message
+     */
+    public static ServerMessage joinSuccess(String code) {
+        return new ServerMessage("JOIN_SUCCESS:" + code, false, () -> ServerFrames.joinSuccess(code));
+    }
+
+    /**
+     * Creates the message telling a player a join failed.
+     *
+     * @param reason why the join failed
+     * @return the message
+     */
+    public static ServerMessage joinError(String reason) {
+        return new ServerMessage("JOIN_ERROR:" + reason, false, () -> ServerFrames.joinError(reason));
+    }
+
+    /**
+     * Creates the message giving the host the code of their new room.
+     *
+     * @param code the room code
+     * @return the message
+     */
+    public static ServerMessage roomCode(String code) {
+        return new ServerMessage("ROOM_CODE:" + code, false, () -> ServerFrames.roomCode(code));
+    }
+
+    /**
+     * Creates the list of players in a room.
+     *
+     * @param names the player names, in join order
+     * @return the message
+     */
+    public static ServerMessage playerList(Collection<String> names) {
+        return new ServerMessage("PLAYER_LIST:" + String.join(",", names), false,
+                () -> ServerFrames.playerList(names));
+    }
+
+    /**
+     * Creates the message announcing the start of the game.
+     *
+     * @return the message
+     */
+    public static ServerMessage gameStarted() {
+        return new ServerMessage("GAME_STARTED", false, ServerFrames::gameStarted);
+    }
+
+    /**
+     * Creates a question message. The text form keeps the legacy layout, including the
+     * correct answer, and appends the deadline; the binary form leaves the answer out.
+     * Both are assembled around the question's cached body rather than formatted afresh.
+     *
+     * @param number    the 1-based question number
+     * @param total     the number of questions in the game
+     * @param question  the question
+     * @param timeLimit seconds the players have to answer
+     * @param deadline  when answers close, in server epoch milliseconds
+     * @return the message
+     */
+    public static ServerMessage question(int number, int total, Question question, int timeLimit, long deadline) {
+        // Format: "QUESTION:currentQ/totalQ:text|A|B|C|D|correct|time|deadline"
+        String text = "QUESTION:" + number + '/' + total + ':' + question.textBody() + '|' + timeLimit + '|' + deadline;
+        return new ServerMessage(text, false,
+                () -> ServerFrames.question(number, total, question.binaryBody(), timeLimit, deadline));
+    }
+
+    /**
+     * Creates the result of one player's answer.
+     *
+     * @param correct       whether the answer was right
+     * @param score         the player's score after the answer
+     * @param correctAnswer the correct answer's text
+     * @return the message
+     */
+    public static ServerMessage answerResult(boolean correct, int score, String correctAnswer) {
+        String text = correct
+                ? "ANSWER_RESULT:Correct! Your score: " + score + "|" + correctAnswer
+                : "ANSWER_RESULT:Incorrect! The correct answer was: " + correctAnswer + "|" + correctAnswer;
+        return new ServerMessage(text, false, () -> ServerFrames.answerResult(correct, score, correctAnswer));
+    }
+
+    /**
+     * Creates a full score snapshot. The text form appends each player's id as a third
+     * field, which older clients ignore.
+     *
+     * @param scores every player's score
+     * @return the message
+     */
+    public static ServerMessage scores(List<PlayerScore> scores) {
+        return scoreTable(MessageType.SCORES, "SCORES:", scores);
+    }
+
+    /**
+     * Creates the final score table.
+     *
+     * @param scores every player's score, highest first
+     * @return the message
+     */
+    public static ServerMessage finalScores(List<PlayerScore> scores) {
+        return scoreTable(MessageType.FINAL_SCORES, "FINAL_SCORES:", scores);
+    }
+
+    private static ServerMessage scoreTable(MessageType type, String prefix, List<PlayerScore> scores) {
+        int count = scores.size();
+        int[] ids = new int[count];
+        String[] names = new String[count];
+        int[] values = new int[count];
+        StringBuilder text = new StringBuilder(prefix);
+        for (int i = 0; i < count; i++) {
+            PlayerScore score = scores.get(i);
+            ids[i] = score.id();
+            names[i] = score.name();
+            values[i] = score.score();
+            if (i > 0) text.append(',');
+            text.append(score.name()).append(':').append(score.score()).append(':').append(score.id());
+        }
+        return new ServerMessage(text.toString(), false,
+                () -> ServerFrames.scores(type, ids, names, values, count));
+    }
+
+    /**
+     * Creates a score delta: only the players whose score changed, by id.
+     * Text format: "SCORE_DELTA:id:score,id:score". A client which has fallen behind may
+     * skip it; the snapshot at the end of the question brings it back in sync.
+     *
+     * @param changed the changed scores
+     * @return the message
+     */
+    public static ServerMessage scoreDelta(List<PlayerScore> changed) {
+        int count = changed.size();
+        int[] ids = new int[count];
+        int[] values = new int[count];
+        StringBuilder text = new StringBuilder("SCORE_DELTA:");
+        for (int i = 0; i < count; i++) {
+            ids[i] = changed.get(i).id();
+            values[i] = changed.get(i).score();
+            if (i > 0) text.append(',');
+            text.append(ids[i]).append(':').append(values[i]);
+        }
+        return new ServerMessage(text.toString(), true, () -> ServerFrames.scoreDelta(ids, values, count));
+    }
+
+    /**
+     * Creates the answer to one client's clock probe.
+     * Text format: "PONG:clientTime|serverTime".
+     *
+     * @param clientTime the client's send time echoed back
+     * @param serverTime the server's clock when it answered
+     * @return the message
+     */
+    public static ServerMessage pong(long clientTime, long serverTime) {
+        return new ServerMessage("PONG:" + clientTime + "|" + serverTime, false,
+                () -> ServerFrames.pong(clientTime, serverTime));
+    }
+
+    /**
+     * Creates the message announcing that a question's time ran out.
+     *
+     * @return the message
+     */
+    public static ServerMessage timeUp() {
+        return new ServerMessage("TIME_UP", false, ServerFrames::timeUp);
+    }
+
+    /**
+     * Creates the message that closes a question every player has answered.
+     * Unlike {@link #timeUp()} it is not a timeout, so answer feedback stays on screen.
+     *
+     * @return the message
+     */
+    public static ServerMessage allAnswered() {
+        return new ServerMessage("ALL_ANSWERED", false, ServerFrames::allAnswered);
+    }
+
+    /**
+     * Returns a fresh read-only view of the message as a text line, positioned at the start.
+     * Views share the underlying bytes, so this never copies.
+     *
+     * @return a buffer ready to be written
+     */
+    public ByteBuffer textFrame() {
+        ByteBuffer frame = textFrame;
+        if (frame == null) {
+            byte[] body = text.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer encoded = ByteBuffer.allocate(body.length + 1);
+            encoded.put(body).put((byte) '\n').flip();
+            textFrame = frame = encoded.asReadOnlyBuffer();
+        }
+        return frame.duplicate();
+    }
+
+    /**
+     * Returns a fresh read-only view of the message as a binary frame, positioned at the start.
+     *
+     * @return a buffer ready to be written
+     */
+    public ByteBuffer binaryFrame() {
+        ByteBuffer frame = binaryFrame;
+        if (frame == null) {
+            binaryFrame = frame = binaryEncoder.get().asReadOnlyBuffer();
+        }
+        return frame.duplicate();
+    }
+
+    /**
+     * Returns the message text, as the text protocol sends it.
+     *
+     * @return the message line
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Indicates whether the message may be skipped for clients that are behind.
+     *
+     * @return true if droppable
+     */
+    public boolean isDroppable() {
+        return droppable;
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.server;
+
+/**
+ * The ServerMode enum lists the ways the GameServer can run its client connections.
+ * The mode is picked from the first command-line argument when the server starts.
+ */
+public enum ServerMode {
+    /**
+     * One platform thread per client, each blocking on its socket (the original behaviour).
+     */
+    THREAD,
+    /**
+     * One virtual thread per client, keeping the blocking code but not the thread cost.
+     */
+    VIRTUAL,
+    /**
+     * A small fixed pool of selector event loops that own every connection.
+     */
+    NIO;
+
+    /**
+     * Resolves the server mode from the command-line arguments.
+     * Falls back to {@link #THREAD} when no mode is given.
+     *
+     * @param args command-line arguments passed to the server
+     * @return the requested server mode
+     * @throws IllegalArgumentException if the argument does not name a mode
+     */
+    public static ServerMode fromArgs(String[] args) {
+        if (args == null || args.length == 0) {
+            return THREAD;
+        }
+        return valueOf(args[0].trim().toUpperCase());
+    }
+}
@@ -0,0 +1,29 @@
+package org.example.server;
+
+/**
+ * The SlowConsumerPolicy record decides what happens when a client reads slower than
+ * the server writes to it, based on how many bytes are waiting in its outbound queue.
+ *
+ * @param dropDroppableAboveBytes once this many bytes are queued, droppable messages
+ *                                (such as score deltas) are skipped for that client
+ * @param disconnectAboveBytes    high-water mark; a message that would push the queue
+ *                                past it disconnects the client instead
+ */
+public record SlowConsumerPolicy(int dropDroppableAboveBytes, int disconnectAboveBytes) {
+    /**
+     * Default policy: skip droppable messages past 16 KB of backlog, disconnect past 256 KB.
+     */
+    public static final SlowConsumerPolicy DEFAULT = new SlowConsumerPolicy(16 * 1024, 256 * 1024);
+
+    /**
+     * Builds the policy from the {@code trivia.outbound.dropAbove} and
+     * {@code trivia.outbound.highWater} system properties, falling back to {@link #DEFAULT}.
+     *
+     * @return the configured policy
+     */
+    public static SlowConsumerPolicy fromSystemProperties() {
+        return new SlowConsumerPolicy(
+                Integer.getInteger("trivia.outbound.dropAbove", DEFAULT.dropDroppableAboveBytes),
+                Integer.getInteger("trivia.outbound.highWater", DEFAULT.disconnectAboveBytes));
+    }
+}